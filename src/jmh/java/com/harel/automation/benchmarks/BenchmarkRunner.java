@@ -0,0 +1,186 @@
+package com.harel.automation.benchmarks;
+
+import org.openqa.selenium.json.Json;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs the JMH benchmarks, saves the results as <timestamp>-<git sha>.json and compares them
+ * with the latest run of another commit, flagging benchmarks that got slower than the threshold.
+ * Started by the benchmarks profile: mvn verify -Pbenchmarks
+ *
+ * Configuration (system properties):
+ * benchmarks.include - regex of benchmarks to run (default .*Benchmark.*)
+ * benchmarks.results.dir - where results are kept (default benchmarks/results)
+ * benchmarks.threshold - percent change reported as a regression (default 10)
+ * benchmarks.failOnRegression - exit with status 1 on a regression (default false)
+ * browser.profile, driver.*, stub.* - passed on to the forked benchmark JVMs
+ */
+public final class BenchmarkRunner {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        Path dir = Paths.get(System.getProperty("benchmarks.results.dir", "benchmarks/results"));
+        Files.createDirectories(dir);
+        String sha = gitSha();
+        Path result = dir.resolve(LocalDateTime.now().format(TIMESTAMP) + "-" + sha + ".json");
+
+        OptionsBuilder options = new OptionsBuilder();
+        options.include(System.getProperty("benchmarks.include", ".*Benchmark.*"))
+            .resultFormat(ResultFormatType.JSON)
+            .result(result.toString())
+            .jvmArgsAppend(forkedJvmArgs());
+        new Runner(options.build()).run();
+        System.out.println("✓ Benchmark results saved to " + result);
+
+        Optional<Path> previous = previousRun(dir, result, sha);
+        if (previous.isEmpty()) {
+            System.out.println("No earlier run to compare with");
+            return;
+        }
+        double threshold = Double.parseDouble(System.getProperty("benchmarks.threshold", "10"));
+        int regressions = compare(read(previous.get()), read(result), threshold);
+        System.out.println((regressions == 0 ? "✓ No regressions" : "⚠ " + regressions + " regression(s)")
+            + " against " + previous.get().getFileName());
+        if (regressions > 0 && Boolean.getBoolean("benchmarks.failOnRegression")) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * The browser is driven headless against the local stub, without the DevTools network layer in the way
+     */
+    private static String[] forkedJvmArgs() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("browser.profile", "headless-fast");
+        properties.put("network.layer", "false");
+        properties.put("driver.pool.size", "1");
+        System.getProperties().stringPropertyNames().stream()
+            .filter(name -> name.startsWith("browser.") || name.startsWith("driver.") || name.startsWith("stub.")
+                || name.startsWith("network.") || name.startsWith("locators."))
+            .forEach(name -> properties.put(name, System.getProperty(name)));
+        return properties.entrySet().stream()
+            .map(e -> "-D" + e.getKey() + "=" + e.getValue())
+            .toArray(String[]::new);
+    }
+
+    private static Optional<Path> previousRun(Path dir, Path current, String sha) throws IOException {
+        List<Path> runs;
+        try (Stream<Path> files = Files.list(dir)) {
+            runs = files.filter(f -> f.getFileName().toString().endsWith(".json") && !f.equals(current))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+        // Prefer the latest run of another commit; repeated runs of this commit only compare with each other
+        for (int i = runs.size() - 1; i >= 0; i--) {
+            if (!runs.get(i).getFileName().toString().endsWith("-" + sha + ".json")) {
+                return Optional.of(runs.get(i));
+            }
+        }
+        return runs.isEmpty() ? Optional.empty() : Optional.of(runs.get(runs.size() - 1));
+    }
+
+    /**
+     * Print the change of every benchmark in both runs and return how many got worse by more than the
+     * threshold and by more than their combined error
+     */
+    private static int compare(Map<String, Score> before, Map<String, Score> after, double threshold) {
+        int regressions = 0;
+        System.out.println(String.format(Locale.ROOT, "%-70s %14s %14s %9s", "Benchmark", "Before", "After", "Change"));
+        for (Map.Entry<String, Score> entry : after.entrySet()) {
+            Score previous = before.get(entry.getKey());
+            Score current = entry.getValue();
+            if (previous == null) {
+                System.out.println(String.format(Locale.ROOT, "%-70s %14s %14s %9s", entry.getKey(), "-", current, "new"));
+                continue;
+            }
+            double change = (current.value - previous.value) / previous.value * 100;
+            // Throughput is better when higher, every other mode when lower
+            double worse = current.higherIsBetter ? -change : change;
+            boolean significant = Math.abs(current.value - previous.value) > previous.error + current.error;
+            boolean regression = worse > threshold && significant;
+            if (regression) {
+                regressions++;
+            }
+            System.out.println(String.format(Locale.ROOT, "%-70s %14s %14s %+8.1f%%%s", entry.getKey(), previous, current,
+                change, regression ? " ⚠" : ""));
+        }
+        return regressions;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Score> read(Path file) throws IOException {
+        List<Object> runs = new Json().toType(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), Json.LIST_OF_MAPS_TYPE);
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (Object run : runs) {
+            Map<String, Object> benchmark = (Map<String, Object>) run;
+            Map<String, Object> metric = (Map<String, Object>) benchmark.get("primaryMetric");
+            String name = benchmark.get("benchmark") + " (" + benchmark.get("mode") + ")";
+            if (benchmark.get("params") != null) {
+                name += " " + benchmark.get("params");
+            }
+            Object error = metric.get("scoreError");
+            scores.put(name, new Score(((Number) metric.get("score")).doubleValue(),
+                error instanceof Number && !Double.isNaN(((Number) error).doubleValue()) ? ((Number) error).doubleValue() : 0,
+                String.valueOf(metric.get("scoreUnit")), "thrpt".equals(benchmark.get("mode"))));
+        }
+        return scores;
+    }
+
+    private static String gitSha() {
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            try (InputStream out = git.getInputStream()) {
+                String sha = new String(out.readAllBytes(), StandardCharsets.UTF_8).trim();
+                return git.waitFor() == 0 && !sha.isEmpty() ? sha : "unknown";
+            }
+        } catch (IOException e) {
+            return "unknown";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+
+    private static final class Score {
+
+        private final double value;
+        private final double error;
+        private final String unit;
+        private final boolean higherIsBetter;
+
+        Score(double value, double error, String unit, boolean higherIsBetter) {
+            this.value = value;
+            this.error = error;
+            this.unit = unit;
+            this.higherIsBetter = higherIsBetter;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%.3f %s", value, unit);
+        }
+    }
+}
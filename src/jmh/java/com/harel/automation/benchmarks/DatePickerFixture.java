@@ -0,0 +1,47 @@
+package com.harel.automation.benchmarks;
+
+import com.harel.automation.driver.DriverContext;
+import com.harel.automation.driver.DriverPool;
+import com.harel.automation.stub.StubServer;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A pooled browser on the stub server's date page with the date picker open.
+ * Thread-scoped, so the session is bound to the benchmark thread's DriverContext like in a test.
+ */
+@State(Scope.Thread)
+public class DatePickerFixture {
+
+    static final By CALENDAR_DAYS = By.cssSelector("button.MuiPickersDay-day");
+
+    WebDriver driver;
+
+    @Setup(Level.Trial)
+    public void open() {
+        StubServer.getInstance().start();
+        driver = DriverContext.start();
+        driver.get(StubServer.getInstance().getBaseUrl() + "/wizard/date");
+        openCalendar();
+    }
+
+    void openCalendar() {
+        if (driver.findElements(CALENDAR_DAYS).isEmpty()) {
+            driver.findElement(By.id("travel_start_date")).click();
+            DriverContext.getWait().until(ExpectedConditions.presenceOfElementLocated(CALENDAR_DAYS));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        DriverContext.stop();
+        DriverPool.getInstance().shutdown();
+        StubServer.getInstance().stop();
+    }
+}
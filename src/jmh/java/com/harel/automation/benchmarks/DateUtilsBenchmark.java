@@ -0,0 +1,67 @@
+package com.harel.automation.benchmarks;
+
+import com.harel.automation.utils.CalendarPlan;
+import com.harel.automation.utils.DateUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date formatting and day math done for every date the tests type or verify,
+ * and the header parsing and planning done for every date picked from the calendar
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DateUtilsBenchmark {
+
+    private final LocalDate departure = LocalDate.of(2026, 12, 28);
+    private final LocalDate returnDate = LocalDate.of(2027, 1, 27);
+    private final LocalDate today = LocalDate.of(2026, 10, 18);
+    private final YearMonth displayed = YearMonth.of(2026, 10);
+    private final String header = "אוקטובר 2026";
+
+    @Benchmark
+    public String formatDate() {
+        return DateUtils.formatDate(departure);
+    }
+
+    @Benchmark
+    public String formatDateForDisplay() {
+        return DateUtils.formatDateForDisplay(departure);
+    }
+
+    @Benchmark
+    public int calculateDaysBetween() {
+        return DateUtils.calculateDaysBetween(departure, returnDate);
+    }
+
+    @Benchmark
+    public LocalDate getDaysFromDate() {
+        return DateUtils.getDaysFromDate(departure, 30);
+    }
+
+    @Benchmark
+    public Optional<YearMonth> parseMonthHeader() {
+        return DateUtils.parseMonthHeader(header);
+    }
+
+    @Benchmark
+    public CalendarPlan planNavigation() {
+        return DateUtils.planNavigation(displayed, returnDate, today);
+    }
+}
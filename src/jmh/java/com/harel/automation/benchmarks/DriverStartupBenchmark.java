@@ -0,0 +1,68 @@
+package com.harel.automation.benchmarks;
+
+import com.harel.automation.driver.BrowserProfile;
+import com.harel.automation.driver.DriverFactory;
+import com.harel.automation.driver.DriverPool;
+import com.harel.automation.network.NetworkLayer;
+import org.openqa.selenium.WebDriver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starting a fresh browser for a test against borrowing a warm one from the pool (acquire + reset on release)
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DriverStartupBenchmark {
+
+    // Sets a session up and tears it down the way the pool does, network layer included
+    @Benchmark
+    public void coldStart() {
+        BrowserProfile profile = BrowserProfile.current();
+        WebDriver browser = DriverFactory.startBrowser(profile);
+        NetworkLayer network = DriverFactory.attachNetworkLayer(browser, profile);
+        WebDriver driver = DriverFactory.decorate(browser);
+        if (network != null) {
+            network.close();
+        }
+        driver.quit();
+    }
+
+    @Benchmark
+    public void poolAcquire(WarmPool pool) {
+        WebDriver driver = DriverPool.getInstance().acquire();
+        DriverPool.getInstance().release(driver);
+    }
+
+    /**
+     * A pool holding one idle session before the first measurement
+     */
+    @State(Scope.Benchmark)
+    public static class WarmPool {
+
+        @Setup(Level.Trial)
+        public void warmUp() {
+            DriverPool.getInstance().release(DriverPool.getInstance().acquire());
+        }
+
+        @TearDown(Level.Trial)
+        public void shutdown() {
+            DriverPool.getInstance().shutdown();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.harel.automation.benchmarks;
+
+import com.harel.automation.locators.LocatorRegistry;
+import com.harel.automation.locators.RegisteredLocator;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of finding the same elements through each locator strategy, including the registry's ranked lookup
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocatorBenchmark {
+
+    private static final By BY_ID = By.id("travel_start_date");
+    private static final By BY_CSS = By.cssSelector("input[name='start']");
+    private static final By BY_XPATH = By.xpath("//input[@name='start']");
+    private static final By DAY_BY_XPATH = By.xpath(
+        "//div[contains(@class, 'MuiPickersCalendar')]//button[contains(@class, 'MuiPickersDay-day')]//*[text()='15']");
+
+    @Benchmark
+    public List<WebElement> byId(DatePickerFixture fixture) {
+        return fixture.driver.findElements(BY_ID);
+    }
+
+    @Benchmark
+    public List<WebElement> byCss(DatePickerFixture fixture) {
+        return fixture.driver.findElements(BY_CSS);
+    }
+
+    @Benchmark
+    public List<WebElement> byXpath(DatePickerFixture fixture) {
+        return fixture.driver.findElements(BY_XPATH);
+    }
+
+    @Benchmark
+    public List<WebElement> registered(DatePickerFixture fixture) {
+        RegisteredLocator locator = LocatorRegistry.getInstance().get("dates.departureInput");
+        return fixture.driver.findElements(locator);
+    }
+
+    @Benchmark
+    public List<WebElement> calendarDayByXpath(DatePickerFixture fixture) {
+        return fixture.driver.findElements(DAY_BY_XPATH);
+    }
+
+    @Benchmark
+    public List<WebElement> calendarDayRegistered(DatePickerFixture fixture) {
+        return fixture.driver.findElements(LocatorRegistry.getInstance().get("dates.calendarDay", 15));
+    }
+}
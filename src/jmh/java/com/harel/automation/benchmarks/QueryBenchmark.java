@@ -0,0 +1,57 @@
+package com.harel.automation.benchmarks;
+
+import com.harel.automation.pages.BasePage;
+import com.harel.automation.pages.ElementSnapshot;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading visibility, state, text and class of every calendar day:
+ * one batched script call (BasePage.queryAll) against a WebDriver round trip per element and property
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBenchmark {
+
+    private static final QueryProbe PROBE = new QueryProbe();
+
+    @Benchmark
+    public List<ElementSnapshot> batched(DatePickerFixture fixture) {
+        return PROBE.query(DatePickerFixture.CALENDAR_DAYS);
+    }
+
+    @Benchmark
+    public void perElement(DatePickerFixture fixture, Blackhole blackhole) {
+        for (WebElement day : fixture.driver.findElements(DatePickerFixture.CALENDAR_DAYS)) {
+            boolean visible = day.isDisplayed();
+            blackhole.consume(visible);
+            blackhole.consume(day.isEnabled());
+            blackhole.consume(visible ? day.getText() : "");
+            blackhole.consume(day.getAttribute("class"));
+        }
+    }
+
+    /**
+     * Exposes the page objects' batched query
+     */
+    static final class QueryProbe extends BasePage {
+
+        List<ElementSnapshot> query(By locator) {
+            return queryAll(locator);
+        }
+    }
+}
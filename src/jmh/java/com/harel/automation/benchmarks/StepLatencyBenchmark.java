@@ -0,0 +1,52 @@
+package com.harel.automation.benchmarks;
+
+import com.harel.automation.pages.DateEntryMode;
+import com.harel.automation.pages.TravelDatesPage;
+import com.harel.automation.pages.TripSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the date-page steps as the tests run them, against the stub date picker
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class StepLatencyBenchmark {
+
+    private static final TravelDatesPage PAGE = new TravelDatesPage();
+
+    private static final LocalDate DEPARTURE = LocalDate.now().plusDays(7);
+    private static final LocalDate DEPARTURE_TWO_MONTHS_AHEAD = LocalDate.now().plusMonths(2);
+
+    @Benchmark
+    public void selectDepartureDirect(DatePickerFixture fixture) {
+        PAGE.selectDepartureDate(DEPARTURE, DateEntryMode.DIRECT);
+    }
+
+    @Benchmark
+    public void selectDepartureCalendar(DatePickerFixture fixture) {
+        PAGE.selectDepartureDate(DEPARTURE, DateEntryMode.CALENDAR);
+    }
+
+    @Benchmark
+    public void selectDepartureCalendarTwoMonthsAhead(DatePickerFixture fixture) {
+        PAGE.selectDepartureDate(DEPARTURE_TWO_MONTHS_AHEAD, DateEntryMode.CALENDAR);
+    }
+
+    @Benchmark
+    public Optional<TripSummary> readTripSummary(DatePickerFixture fixture) {
+        return PAGE.getTripSummary();
+    }
+}
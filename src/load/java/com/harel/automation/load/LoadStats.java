@@ -0,0 +1,204 @@
+package com.harel.automation.load;
+
+import com.harel.automation.utils.StepRecord;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and error counts of a load run. Virtual users record finished flows concurrently; the reporter
+ * thread folds the step records and the flows of each interval into the run totals. Latencies are kept in
+ * microseconds with three significant digits.
+ */
+class LoadStats {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    // Written by the virtual users
+    private final Recorder serviceTime = new Recorder(SIGNIFICANT_DIGITS);
+    private final Recorder responseTime = new Recorder(SIGNIFICANT_DIGITS);
+    private final LongAdder intervalErrors = new LongAdder();
+    private final Map<String, LongAdder> errorTypes = new ConcurrentHashMap<>();
+    private final Map<String, String> errorSamples = new ConcurrentHashMap<>();
+
+    // Owned by the reporter thread
+    private final Histogram totalServiceTime = new Histogram(SIGNIFICANT_DIGITS);
+    private final Histogram totalResponseTime = new Histogram(SIGNIFICANT_DIGITS);
+    private final Map<String, StepStats> steps = new TreeMap<>();
+    private Histogram intervalService;
+    private Histogram intervalResponse;
+    private long flows;
+    private long errors;
+
+    /**
+     * A finished flow: service time from its actual start, response time from when it was due to start -
+     * the two differ when arrivals had to wait for a free virtual user
+     */
+    void recordFlow(long serviceNanos, long responseNanos, Throwable failure) {
+        serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(serviceNanos));
+        responseTime.recordValue(TimeUnit.NANOSECONDS.toMicros(responseNanos));
+        if (failure != null) {
+            intervalErrors.increment();
+            String type = failure.getClass().getSimpleName();
+            errorTypes.computeIfAbsent(type, t -> new LongAdder()).increment();
+            errorSamples.putIfAbsent(type, String.valueOf(failure.getMessage()).split("\n")[0]);
+        }
+    }
+
+    /**
+     * Close the interval: fold it into the totals and return what happened in it
+     */
+    Interval interval(List<StepRecord> stepRecords, double seconds) {
+        intervalService = serviceTime.getIntervalHistogram(intervalService);
+        intervalResponse = responseTime.getIntervalHistogram(intervalResponse);
+        long intervalFlows = intervalService.getTotalCount();
+        long failed = intervalErrors.sumThenReset();
+        totalServiceTime.add(intervalService);
+        totalResponseTime.add(intervalResponse);
+        flows += intervalFlows;
+        errors += failed;
+        for (StepRecord record : stepRecords) {
+            steps.computeIfAbsent(record.getStep(), step -> new StepStats()).record(record);
+        }
+        return new Interval(intervalFlows, failed, seconds, millis(intervalResponse.getValueAtPercentile(50)),
+            millis(intervalResponse.getValueAtPercentile(95)));
+    }
+
+    /**
+     * Forget everything recorded so far - at the end of the warm-up
+     */
+    void reset() {
+        serviceTime.reset();
+        responseTime.reset();
+        intervalErrors.reset();
+        errorTypes.clear();
+        errorSamples.clear();
+        totalServiceTime.reset();
+        totalResponseTime.reset();
+        steps.clear();
+        flows = 0;
+        errors = 0;
+    }
+
+    long getFlows() {
+        return flows;
+    }
+
+    long getErrors() {
+        return errors;
+    }
+
+    double getErrorPercent() {
+        return flows == 0 ? 0 : errors * 100.0 / flows;
+    }
+
+    Histogram getResponseTime() {
+        return totalResponseTime;
+    }
+
+    Map<String, StepStats> getSteps() {
+        return steps;
+    }
+
+    Map<String, Long> getErrorTypes() {
+        Map<String, Long> types = new TreeMap<>();
+        errorTypes.forEach((type, count) -> types.put(type, count.sum()));
+        return types;
+    }
+
+    /**
+     * First line of the first message seen for each error type
+     */
+    Map<String, String> getErrorSamples() {
+        return new TreeMap<>(errorSamples);
+    }
+
+    Map<String, Object> flowSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("flows", flows);
+        summary.put("errors", errors);
+        summary.put("errorPercent", getErrorPercent());
+        summary.put("serviceTime", percentiles(totalServiceTime));
+        summary.put("responseTime", percentiles(totalResponseTime));
+        summary.put("errorTypes", getErrorTypes());
+        summary.put("errorSamples", getErrorSamples());
+        return summary;
+    }
+
+    static Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        percentiles.put("meanMillis", histogram.getTotalCount() == 0 ? 0 : histogram.getMean() / 1000);
+        for (double percentile : new double[] {50, 90, 95, 99}) {
+            percentiles.put("p" + (int) percentile + "Millis", millis(histogram.getValueAtPercentile(percentile)));
+        }
+        percentiles.put("maxMillis", millis(histogram.getMaxValue()));
+        return percentiles;
+    }
+
+    static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * Flows finished in one reporting interval
+     */
+    static final class Interval {
+
+        final long flows;
+        final long errors;
+        final double seconds;
+        final double p50Millis;
+        final double p95Millis;
+
+        Interval(long flows, long errors, double seconds, double p50Millis, double p95Millis) {
+            this.flows = flows;
+            this.errors = errors;
+            this.seconds = seconds;
+            this.p50Millis = p50Millis;
+            this.p95Millis = p95Millis;
+        }
+
+        double getThroughput() {
+            return seconds <= 0 ? 0 : flows / seconds;
+        }
+    }
+
+    /**
+     * Latency histogram and error count of one step across the run
+     */
+    static final class StepStats {
+
+        private final Histogram latency = new Histogram(SIGNIFICANT_DIGITS);
+        private long failures;
+
+        void record(StepRecord record) {
+            latency.recordValue(Math.round(record.getWallMillis() * 1000));
+            if (!record.isPassed()) {
+                failures++;
+            }
+        }
+
+        Histogram getLatency() {
+            return latency;
+        }
+
+        long getSamples() {
+            return latency.getTotalCount();
+        }
+
+        long getFailures() {
+            return failures;
+        }
+
+        double getErrorPercent() {
+            return getSamples() == 0 ? 0 : failures * 100.0 / getSamples();
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.harel.automation.load;
+
+import ch.qos.logback.classic.LoggerContext;
+import com.harel.automation.driver.DriverContext;
+import com.harel.automation.driver.DriverPool;
+import com.harel.automation.pages.TravelDatesPage;
+import com.harel.automation.pages.TravelPolicyPage;
+import com.harel.automation.pages.TripSummary;
+import com.harel.automation.scenarios.PurchaseScenario;
+import com.harel.automation.scenarios.ScenarioMatrix;
+import com.harel.automation.stub.StubServer;
+import com.harel.automation.utils.StepTimer;
+import com.harel.automation.utils.TestConfig;
+import org.HdrHistogram.Histogram;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the purchase funnel with the page objects at a controlled load and reports throughput, per-step
+ * latency histograms and error rates - to find the step where the funnel saturates.
+ * Each virtual user holds one browser from the pool and runs the flow (landing page to passenger details)
+ * for the scenarios of the matrix in turn. Without a rate the users run flows back to back (closed model);
+ * with -Dload.rate flows arrive on a fixed schedule whether or not a user is free (open model), and the
+ * response time includes the wait for a free user, so queueing shows instead of being hidden.
+ * Runs against the local stub unless harel.target or base.url say otherwise.
+ * Started by the load-test profile: mvn verify -Pload-test -Dload.users=4 -Dload.duration.seconds=120
+ *
+ * Configuration (system properties):
+ * load.users - virtual users, i.e. concurrent browsers (default 2)
+ * load.rate - flows started per second; unset = every user starts its next flow when the last one ends
+ * load.duration.seconds - measured run time (default 60)
+ * load.warmup.seconds - run time before measuring starts, not reported (default 10)
+ * load.think.ms - pause of a user between two flows (default 0)
+ * load.report.seconds - interval of the progress lines and intervals.csv (default 10)
+ * load.report.dir - where results are written (default target/load-test/<timestamp>)
+ * load.maxErrorPercent - exit with status 1 when more flows failed (default 100 = never)
+ * load.wait.seconds - explicit-wait timeout of the page objects (default 20)
+ * webdriver.trace - trace every WebDriver command in memory (default false here; steps still count commands)
+ * scenarios.file, browser.*, driver.*, stub.* - as for the test suite
+ */
+public final class LoadTestRunner {
+
+    // Progress and summary lines go to the console as they are, through the "load" logger of logback-test.xml
+    private static final Logger LOG = LoggerFactory.getLogger("load");
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final int users = Integer.getInteger("load.users", 2);
+    private final double rate = Double.parseDouble(System.getProperty("load.rate", "0"));
+    private final Duration duration = Duration.ofSeconds(Long.getLong("load.duration.seconds", 60));
+    private final Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup.seconds", 10));
+    private final long thinkMillis = Long.getLong("load.think.ms", 0);
+    private final Duration reportInterval = Duration.ofSeconds(Long.getLong("load.report.seconds", 10));
+    private final Duration waitTimeout = Duration.ofSeconds(Long.getLong("load.wait.seconds", 20));
+
+    private final LoadStats stats = new LoadStats();
+    private final List<PurchaseScenario> scenarios = ScenarioMatrix.load();
+    private final AtomicLong nextScenario = new AtomicLong();
+    // Open model only: when each pending flow was due to start
+    private final BlockingQueue<Long> arrivals = new LinkedBlockingQueue<>();
+    private final List<String> intervals = new ArrayList<>();
+
+    private volatile long endNanos;
+    private double measuredSeconds;
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (System.getProperty("harel.target") == null && System.getProperty("base.url") == null) {
+            System.setProperty("harel.target", "stub");
+        }
+        if (System.getProperty("driver.pool.size") == null) {
+            System.setProperty("driver.pool.size", System.getProperty("load.users", "2"));
+        }
+        // Nothing writes the command trace outside a TestNG suite - it would only grow for the whole run
+        if (System.getProperty("webdriver.trace") == null) {
+            System.setProperty("webdriver.trace", "false");
+        }
+        Path dir = Paths.get(System.getProperty("load.report.dir",
+            "target/load-test/" + LocalDateTime.now().format(TIMESTAMP)));
+
+        LoadTestRunner runner = new LoadTestRunner();
+        boolean failed = false;
+        try {
+            runner.run();
+            runner.report(dir);
+            double maxErrorPercent = Double.parseDouble(System.getProperty("load.maxErrorPercent", "100"));
+            if (runner.stats.getErrorPercent() > maxErrorPercent) {
+                LOG.warn(String.format(Locale.ROOT, "⚠ %.1f%% of flows failed, more than the allowed %.1f%%",
+                    runner.stats.getErrorPercent(), maxErrorPercent));
+                failed = true;
+            }
+        } finally {
+            DriverPool.getInstance().shutdown();
+            StubServer.getInstance().stop();
+            // exec:java closes the class loader before Maven exits, so logback is flushed and stopped here
+            // rather than only by its shutdown hook
+            if (LoggerFactory.getILoggerFactory() instanceof LoggerContext) {
+                ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+            }
+        }
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    private void run() throws InterruptedException {
+        String url = TestConfig.getBaseUrl();
+        LOG.info(String.format(Locale.ROOT, "Load test against %s: %d user(s), %s, %ds warm-up + %ds",
+            url, users, rate > 0 ? rate + " flows/s" : "closed loop", warmup.toSeconds(), duration.toSeconds()));
+
+        long startNanos = System.nanoTime();
+        long measureFromNanos = startNanos + warmup.toNanos();
+        endNanos = measureFromNanos + duration.toNanos();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int user = 1; user <= users; user++) {
+            int id = user;
+            threads.add(start("load-user-" + id, () -> runUser(id, url)));
+        }
+        if (rate > 0) {
+            threads.add(start("load-arrivals", () -> scheduleArrivals(startNanos)));
+        }
+
+        boolean measuring = warmup.isZero();
+        long intervalStart = startNanos;
+        while (threads.stream().anyMatch(Thread::isAlive)) {
+            Thread.sleep(100);
+            long now = System.nanoTime();
+            if (!measuring && now >= measureFromNanos) {
+                StepTimer.drainRecords();
+                stats.reset();
+                measuring = true;
+                intervalStart = now;
+                LOG.info("Warm-up done, measuring");
+            } else if (measuring && now - intervalStart >= reportInterval.toNanos()) {
+                printInterval(now - measureFromNanos, stats.interval(StepTimer.drainRecords(), (now - intervalStart) / 1e9));
+                intervalStart = now;
+            }
+        }
+        long now = System.nanoTime();
+        printInterval(now - measureFromNanos, stats.interval(StepTimer.drainRecords(), (now - intervalStart) / 1e9));
+        // Flows still running at the end are finished and counted, so the measured time runs until the last one
+        measuredSeconds = (now - measureFromNanos) / 1e9;
+        if (!arrivals.isEmpty()) {
+            LOG.warn("⚠ {} scheduled flow(s) never started - the users could not keep up", arrivals.size());
+        }
+    }
+
+    private void runUser(int user, String url) {
+        StepTimer.beginTest("load-user-" + user);
+        TravelPolicyPage travelPolicyPage = new TravelPolicyPage();
+        TravelDatesPage travelDatesPage = new TravelDatesPage();
+        try {
+            while (true) {
+                long dueNanos;
+                if (rate > 0) {
+                    Long due = arrivals.poll(100, TimeUnit.MILLISECONDS);
+                    if (due == null) {
+                        if (System.nanoTime() >= endNanos) {
+                            return;
+                        }
+                        continue;
+                    }
+                    dueNanos = due;
+                } else {
+                    dueNanos = System.nanoTime();
+                }
+                if (dueNanos >= endNanos) {
+                    return;
+                }
+
+                long started = System.nanoTime();
+                Throwable failure = null;
+                try {
+                    if (!DriverContext.isActive()) {
+                        DriverContext.start(waitTimeout);
+                    }
+                    runFlow(DriverContext.getDriver(), url, travelPolicyPage, travelDatesPage, nextScenario());
+                } catch (RuntimeException | AssertionError e) {
+                    failure = e;
+                    // A fresh session for the next flow; the pool evicts the browser if it cannot be reset
+                    if (DriverContext.isActive()) {
+                        DriverContext.stop();
+                    }
+                }
+                long finished = System.nanoTime();
+                stats.recordFlow(finished - started, finished - dueNanos, failure);
+
+                if (failure != null && !DriverContext.isActive()) {
+                    // Starting a browser failed - do not spin on it
+                    Thread.sleep(1000);
+                } else if (thinkMillis > 0) {
+                    Thread.sleep(thinkMillis);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (DriverContext.isActive()) {
+                DriverContext.stop();
+            }
+            StepTimer.endTest();
+        }
+    }
+
+    /**
+     * The purchase flow of PurchaseScenarioTest, always from the landing page so every step of the funnel is loaded
+     */
+    private static void runFlow(WebDriver driver, String url, TravelPolicyPage travelPolicyPage,
+                                TravelDatesPage travelDatesPage, PurchaseScenario scenario) {
+        StepTimer.step("1 Open website", () -> driver.get(url));
+        StepTimer.step("2 First time purchase", travelPolicyPage::clickFirstTimePurchaseButton);
+        StepTimer.step("3 Select continent", () -> travelPolicyPage.selectContinent(scenario.getContinent()));
+        StepTimer.step("4 Continue to travel dates", travelPolicyPage::clickContinueToTravelDates);
+        StepTimer.step("5 Select departure date", () -> travelDatesPage.selectDepartureDate(scenario.getDepartureDate()));
+        StepTimer.step("6 Select return date", () -> travelDatesPage.selectReturnDate(scenario.getReturnDate()));
+        StepTimer.step("7 Verify total days", () -> {
+            TripSummary summary = travelDatesPage.getTripSummary()
+                .orElseThrow(() -> new AssertionError("Trip summary not displayed for " + scenario));
+            if (summary.getDays() != scenario.getExpectedDays()) {
+                throw new AssertionError("Total days for " + scenario + ": expected " + scenario.getExpectedDays()
+                    + " but was " + summary.getDays());
+            }
+        });
+        StepTimer.step("8 Continue to passenger details", travelDatesPage::clickContinueToPassengerDetails);
+        StepTimer.step("9 Verify passenger details page", () -> {
+            if (!travelDatesPage.isPassengerDetailsPageDisplayed()) {
+                throw new AssertionError("Passenger details page is not displayed for " + scenario);
+            }
+        });
+    }
+
+    /**
+     * Open model: queue one arrival every 1/rate seconds, stamped with when it was due rather than when
+     * the thread woke up
+     */
+    private void scheduleArrivals(long startNanos) {
+        long periodNanos = Math.round(1e9 / rate);
+        for (long due = startNanos; due < endNanos; due += periodNanos) {
+            long delay = due - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            arrivals.add(due);
+        }
+    }
+
+    private PurchaseScenario nextScenario() {
+        return scenarios.get((int) (nextScenario.getAndIncrement() % scenarios.size()));
+    }
+
+    private void printInterval(long elapsedNanos, LoadStats.Interval interval) {
+        intervals.add(String.format(Locale.ROOT, "%d,%d,%d,%.3f,%.3f,%.3f", TimeUnit.NANOSECONDS.toSeconds(elapsedNanos),
+            interval.flows, interval.errors, interval.getThroughput(), interval.p50Millis, interval.p95Millis));
+        LOG.info(String.format(Locale.ROOT, "%5ds %6.2f flows/s %5d flows %4d errors  p50 %8.0fms  p95 %8.0fms",
+            TimeUnit.NANOSECONDS.toSeconds(elapsedNanos), interval.getThroughput(), interval.flows, interval.errors,
+            interval.p50Millis, interval.p95Millis));
+    }
+
+    private void report(Path dir) throws IOException {
+        double seconds = measuredSeconds;
+        LOG.info(String.format(Locale.ROOT, "%n%d flows in %.0fs: %.2f flows/s, %.1f%% failed",
+            stats.getFlows(), seconds, stats.getFlows() / seconds, stats.getErrorPercent()));
+        stats.getErrorTypes().forEach((type, count) -> LOG.info("  {}: {} - e.g. {}", type, count,
+            stats.getErrorSamples().get(type)));
+        LOG.info(String.format(Locale.ROOT, "%-50s %8s %7s %9s %9s %9s %9s",
+            "Step", "Samples", "Errors", "p50 ms", "p95 ms", "p99 ms", "Max ms"));
+
+        List<Map<String, Object>> steps = new ArrayList<>();
+        StringBuilder csv = new StringBuilder("step,samples,failures,errorPercent,meanMillis,p50Millis,p90Millis,"
+            + "p95Millis,p99Millis,maxMillis\n");
+        for (Map.Entry<String, LoadStats.StepStats> entry : stats.getSteps().entrySet()) {
+            LoadStats.StepStats step = entry.getValue();
+            Map<String, Object> percentiles = LoadStats.percentiles(step.getLatency());
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("step", entry.getKey());
+            row.put("samples", step.getSamples());
+            row.put("failures", step.getFailures());
+            row.put("errorPercent", step.getErrorPercent());
+            row.putAll(percentiles);
+            steps.add(row);
+            csv.append('"').append(entry.getKey().replace("\"", "\"\"")).append('"');
+            for (Object value : new ArrayList<>(row.values()).subList(1, row.size())) {
+                csv.append(',').append(value instanceof Double
+                    ? String.format(Locale.ROOT, "%.3f", (Double) value) : String.valueOf(value));
+            }
+            csv.append('\n');
+            LOG.info(String.format(Locale.ROOT, "%-50s %8d %6.1f%% %9.0f %9.0f %9.0f %9.0f", entry.getKey(),
+                step.getSamples(), step.getErrorPercent(), percentiles.get("p50Millis"), percentiles.get("p95Millis"),
+                percentiles.get("p99Millis"), percentiles.get("maxMillis")));
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("users", users);
+        summary.put("rate", rate > 0 ? rate : null);
+        summary.put("durationSeconds", duration.toSeconds());
+        summary.put("measuredSeconds", seconds);
+        summary.put("warmupSeconds", warmup.toSeconds());
+        summary.put("throughput", stats.getFlows() / seconds);
+        summary.putAll(stats.flowSummary());
+        summary.put("steps", steps);
+
+        Files.createDirectories(dir);
+        Files.write(dir.resolve("summary.json"), new Json().toJson(summary).getBytes(StandardCharsets.UTF_8));
+        Files.write(dir.resolve("steps.csv"), csv.toString().getBytes(StandardCharsets.UTF_8));
+        Files.write(dir.resolve("intervals.csv"), ("elapsedSeconds,flows,errors,throughput,p50Millis,p95Millis\n"
+            + String.join("\n", intervals) + "\n").getBytes(StandardCharsets.UTF_8));
+        // Full distribution for HdrHistogram's plotter, in milliseconds
+        try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve("response-time.hgrm")), false,
+                StandardCharsets.UTF_8.name())) {
+            Histogram responseTime = stats.getResponseTime();
+            responseTime.outputPercentileDistribution(out, 1000.0);
+        }
+        LOG.info("✓ Load test results saved to {}", dir.toAbsolutePath());
+    }
+
+    private static Thread start(String name, Runnable action) {
+        Thread thread = new Thread(action, name);
+        thread.start();
+        return thread;
+    }
+}
@@ -0,0 +1,42 @@
+package com.harel.automation.driver;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+
+/**
+ * A browser the suite can run on. Implementations are discovered with ServiceLoader
+ * (META-INF/services/com.harel.automation.driver.BrowserEngine) and selected by name with -Dbrowser.engine,
+ * so the pool, page objects and tests never refer to a concrete WebDriver class.
+ */
+public interface BrowserEngine {
+
+    /**
+     * Name selected with -Dbrowser.engine, e.g. chrome
+     */
+    String getName();
+
+    /**
+     * Start an undecorated browser session configured by the profile
+     */
+    WebDriver start(BrowserProfile profile);
+
+    /**
+     * Capabilities a Selenium Grid session is requested with - the same options as a local start,
+     * minus anything that only exists on this machine
+     */
+    Capabilities remoteCapabilities(BrowserProfile profile);
+
+    /**
+     * Whether the DevTools network layer (blocking, asset cache, HTTP record/replay) can be attached to its sessions
+     */
+    boolean supportsNetworkLayer();
+
+    /**
+     * Fail requests for the URL patterns inside the browser - used for the lean profiles when no network layer
+     * is attached. Engines that drop those assets through browser preferences instead leave this empty.
+     */
+    default void blockUrls(WebDriver browser, List<String> urlPatterns) {
+    }
+}
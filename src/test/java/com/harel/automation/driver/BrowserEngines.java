@@ -0,0 +1,59 @@
+package com.harel.automation.driver;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * The BrowserEngine implementations on the classpath, loaded once per JVM.
+ *
+ * Configuration (system properties):
+ * browser.engine - chrome (default), chrome-headless-shell or firefox; any engine registered through
+ * META-INF/services/com.harel.automation.driver.BrowserEngine can be named
+ */
+public final class BrowserEngines {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BrowserEngines.class);
+
+    private static final Map<String, BrowserEngine> ENGINES = load();
+
+    private BrowserEngines() {
+    }
+
+    /**
+     * Engine selected with -Dbrowser.engine
+     */
+    public static BrowserEngine current() {
+        return get(System.getProperty("browser.engine", "chrome"));
+    }
+
+    public static BrowserEngine get(String name) {
+        BrowserEngine engine = ENGINES.get(name.trim().toLowerCase(Locale.ROOT));
+        if (engine == null) {
+            throw new IllegalArgumentException("Unknown browser.engine '" + name + "' - available: " + names());
+        }
+        return engine;
+    }
+
+    public static Set<String> names() {
+        return Collections.unmodifiableSet(ENGINES.keySet());
+    }
+
+    private static Map<String, BrowserEngine> load() {
+        Map<String, BrowserEngine> engines = new LinkedHashMap<>();
+        for (BrowserEngine engine : ServiceLoader.load(BrowserEngine.class)) {
+            BrowserEngine previous = engines.putIfAbsent(engine.getName().toLowerCase(Locale.ROOT), engine);
+            if (previous != null) {
+                LOG.warn("Ignoring browser engine {} - '{}' is already provided by {}", engine.getClass().getName(),
+                    engine.getName(), previous.getClass().getName());
+            }
+        }
+        return engines;
+    }
+}
@@ -0,0 +1,129 @@
+package com.harel.automation.driver;
+
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Named browser configurations, mapped to the options of each BrowserEngine.
+ * Selected with -Dbrowser.profile=desktop|headless-fast|ci-minimal (default desktop).
+ * The lean profiles keep a fixed desktop-sized viewport so the wizard renders the same layout as on a desktop.
+ */
+public enum BrowserProfile {
+
+    /** Visible, maximized browser for local runs and debugging */
+    DESKTOP(false, false, false),
+
+    /** Headless with images, fonts, extensions and GPU turned off - for fast local and CI runs */
+    HEADLESS_FAST(true, true, false),
+
+    /** HEADLESS_FAST plus the flags needed to run as root in a container with a small /dev/shm */
+    CI_MINIMAL(true, true, true);
+
+    static final int WINDOW_WIDTH = 1920;
+    static final int WINDOW_HEIGHT = 1080;
+
+    /** Requests for these are failed in the browser under the lean profiles */
+    static final List<String> BLOCKED_FONT_URLS = List.of("*.woff", "*.woff2", "*.ttf", "*.otf", "*.eot");
+
+    private final boolean headless;
+    private final boolean lean;
+    private final boolean container;
+
+    BrowserProfile(boolean headless, boolean lean, boolean container) {
+        this.headless = headless;
+        this.lean = lean;
+        this.container = container;
+    }
+
+    public static BrowserProfile current() {
+        return valueOf(System.getProperty("browser.profile", "desktop").trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Whether images and web fonts are blocked
+     */
+    public boolean blocksAssets() {
+        return lean;
+    }
+
+    public ChromeOptions toChromeOptions() {
+        ChromeOptions options = baseChromeOptions();
+        if (!headless) {
+            options.addArguments("--start-maximized");
+            return options;
+        }
+
+        options.addArguments("--headless=new");
+        return addHeadlessChromeArguments(options);
+    }
+
+    /**
+     * chrome-headless-shell is headless by build, so every profile gets the headless window and flags
+     */
+    public ChromeOptions toHeadlessShellOptions(Path binary) {
+        ChromeOptions options = baseChromeOptions();
+        options.setBinary(binary.toFile());
+        return addHeadlessChromeArguments(options);
+    }
+
+    public FirefoxOptions toFirefoxOptions() {
+        FirefoxOptions options = new FirefoxOptions();
+        options.addPreference("dom.webnotifications.enabled", false);
+        options.addPreference("dom.disable_open_during_load", false);
+        if (!headless) {
+            return options;
+        }
+
+        options.addArguments("-headless");
+        options.addArguments("--width=" + WINDOW_WIDTH);
+        options.addArguments("--height=" + WINDOW_HEIGHT);
+        if (lean) {
+            options.addPreference("permissions.default.image", 2);
+            options.addPreference("browser.display.use_document_fonts", 0);
+        }
+        if (container) {
+            options.addPreference("app.update.auto", false);
+            options.addPreference("browser.shell.checkDefaultBrowser", false);
+            options.addPreference("datareporting.policy.dataSubmissionEnabled", false);
+            options.addPreference("toolkit.telemetry.enabled", false);
+            options.addPreference("media.volume_scale", "0.0");
+        }
+        return options;
+    }
+
+    private static ChromeOptions baseChromeOptions() {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--disable-notifications");
+        options.addArguments("--disable-popup-blocking");
+        return options;
+    }
+
+    private ChromeOptions addHeadlessChromeArguments(ChromeOptions options) {
+        options.addArguments("--window-size=" + WINDOW_WIDTH + "," + WINDOW_HEIGHT);
+        options.addArguments("--disable-gpu");
+        options.addArguments("--disable-extensions");
+        options.addArguments("--disable-dev-shm-usage");
+        if (lean) {
+            options.addArguments("--blink-settings=imagesEnabled=false");
+            options.setExperimentalOption("prefs", Map.of("profile.managed_default_content_settings.images", 2));
+        }
+        if (container) {
+            options.addArguments("--no-sandbox");
+            options.addArguments("--no-first-run");
+            options.addArguments("--disable-background-networking");
+            options.addArguments("--disable-default-apps");
+            options.addArguments("--disable-sync");
+            options.addArguments("--mute-audio");
+        }
+        return options;
+    }
+}
@@ -0,0 +1,58 @@
+package com.harel.automation.driver;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Google Chrome through chromedriver - the default engine
+ */
+public class ChromeEngine implements BrowserEngine {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChromeEngine.class);
+
+    @Override
+    public String getName() {
+        return "chrome";
+    }
+
+    @Override
+    public WebDriver start(BrowserProfile profile) {
+        DriverBootstrap.chromedriver();
+        return new ChromeDriver(profile.toChromeOptions());
+    }
+
+    @Override
+    public Capabilities remoteCapabilities(BrowserProfile profile) {
+        return profile.toChromeOptions();
+    }
+
+    @Override
+    public boolean supportsNetworkLayer() {
+        return true;
+    }
+
+    // Chrome has no switch for web fonts, so they are failed at the network layer instead.
+    // Local sessions and augmented Grid sessions both expose CDP.
+    @Override
+    public void blockUrls(WebDriver browser, List<String> urlPatterns) {
+        if (!(browser instanceof HasCdp)) {
+            LOG.warn("Could not block {}: {} has no CDP connection", urlPatterns, browser.getClass().getSimpleName());
+            return;
+        }
+        try {
+            HasCdp chromium = (HasCdp) browser;
+            chromium.executeCdpCommand("Network.enable", Map.of());
+            chromium.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", urlPatterns));
+        } catch (WebDriverException e) {
+            LOG.warn("Could not block {}: {}", urlPatterns, e.getMessage());
+        }
+    }
+}
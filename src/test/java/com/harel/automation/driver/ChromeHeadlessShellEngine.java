@@ -0,0 +1,37 @@
+package com.harel.automation.driver;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+
+import java.nio.file.Paths;
+
+/**
+ * chrome-headless-shell - Chrome's old headless mode shipped as its own small binary. Always headless, starts
+ * faster and uses less memory than full Chrome; driven by the same chromedriver, which should match its version
+ * (pin it with -Ddriver.version). On Grid the binary must be installed on the nodes and its path there
+ * given with -Dchrome.headless.shell.binary.
+ */
+public class ChromeHeadlessShellEngine extends ChromeEngine {
+
+    @Override
+    public String getName() {
+        return "chrome-headless-shell";
+    }
+
+    @Override
+    public WebDriver start(BrowserProfile profile) {
+        DriverBootstrap.chromedriver();
+        return new ChromeDriver(profile.toHeadlessShellOptions(DriverBootstrap.chromeHeadlessShell()));
+    }
+
+    @Override
+    public Capabilities remoteCapabilities(BrowserProfile profile) {
+        String binary = System.getProperty("chrome.headless.shell.binary");
+        if (binary == null || binary.isBlank()) {
+            throw new IllegalStateException(
+                "Set -Dchrome.headless.shell.binary to the chrome-headless-shell path on the Grid nodes");
+        }
+        return profile.toHeadlessShellOptions(Paths.get(binary));
+    }
+}
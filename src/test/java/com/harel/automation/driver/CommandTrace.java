@@ -0,0 +1,79 @@
+package com.harel.automation.driver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One WebDriver wire command observed by the tracing decorator
+ */
+public class CommandTrace {
+
+    private final String testId;
+    private final String step;
+    private final String thread;
+    private final String command;
+    private final String locator;
+    private final long startEpochMillis;
+    private final long durationNanos;
+    private final String outcome;
+
+    public CommandTrace(String testId, String step, String thread, String command, String locator,
+                        long startEpochMillis, long durationNanos, String outcome) {
+        this.testId = testId;
+        this.step = step;
+        this.thread = thread;
+        this.command = command;
+        this.locator = locator;
+        this.startEpochMillis = startEpochMillis;
+        this.durationNanos = durationNanos;
+        this.outcome = outcome;
+    }
+
+    public String getTestId() {
+        return testId;
+    }
+
+    public String getStep() {
+        return step;
+    }
+
+    public String getThread() {
+        return thread;
+    }
+
+    public String getCommand() {
+        return command;
+    }
+
+    public String getLocator() {
+        return locator;
+    }
+
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * "ok", or the simple name of the exception the command failed with
+     */
+    public String getOutcome() {
+        return outcome;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("testId", testId);
+        map.put("step", step);
+        map.put("thread", thread);
+        map.put("command", command);
+        map.put("locator", locator);
+        map.put("startEpochMillis", startEpochMillis);
+        map.put("durationMillis", durationNanos / 1_000_000.0);
+        map.put("outcome", outcome);
+        return map;
+    }
+}
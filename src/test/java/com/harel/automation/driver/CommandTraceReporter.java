@@ -0,0 +1,107 @@
+package com.harel.automation.driver;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the WebDriver command trace when the suite finishes:
+ * commands.json - every command with test, step, locator, duration and outcome
+ * commands.folded - folded stacks (test;step;command;locator microseconds) for flamegraph.pl or speedscope
+ * top-commands.csv - commands grouped by name and locator, most expensive first
+ *
+ * Configuration (system properties):
+ * webdriver.trace.dir - output directory (default target/surefire-reports/webdriver-trace)
+ */
+public class CommandTraceReporter implements ISuiteListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CommandTraceReporter.class);
+
+    @Override
+    public void onFinish(ISuite suite) {
+        List<CommandTrace> traces = WebDriverCommandListener.getTraces();
+        if (traces.isEmpty()) {
+            return;
+        }
+        Path dir = Paths.get(System.getProperty("webdriver.trace.dir", "target/surefire-reports/webdriver-trace"));
+        try {
+            Files.createDirectories(dir);
+            List<Map<String, Object>> rows = traces.stream().map(CommandTrace::toMap).collect(Collectors.toList());
+            Files.write(dir.resolve("commands.json"), new Json().toJson(rows).getBytes(StandardCharsets.UTF_8));
+            Files.write(dir.resolve("commands.folded"), foldedStacks(traces).getBytes(StandardCharsets.UTF_8));
+            Files.write(dir.resolve("top-commands.csv"), topCommands(traces).getBytes(StandardCharsets.UTF_8));
+            LOG.info("WebDriver trace of {} commands written to {}", traces.size(), dir.toAbsolutePath());
+        } catch (IOException e) {
+            LOG.warn("Could not write WebDriver trace: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * One line per distinct stack, nested steps become separate frames, weighted by microseconds
+     */
+    static String foldedStacks(List<CommandTrace> traces) {
+        Map<String, Long> stacks = new TreeMap<>();
+        for (CommandTrace trace : traces) {
+            List<String> frames = new ArrayList<>();
+            frames.add(frame(trace.getTestId() == null ? "(no test)" : trace.getTestId()));
+            if (trace.getStep() != null) {
+                for (String step : trace.getStep().split("/")) {
+                    frames.add(frame(step));
+                }
+            }
+            frames.add(frame(trace.getCommand()));
+            if (trace.getLocator() != null) {
+                frames.add(frame(trace.getLocator()));
+            }
+            stacks.merge(String.join(";", frames), trace.getDurationNanos() / 1_000, Long::sum);
+        }
+        StringBuilder out = new StringBuilder();
+        stacks.forEach((stack, micros) -> out.append(stack).append(' ').append(micros).append('\n'));
+        return out.toString();
+    }
+
+    private static String topCommands(List<CommandTrace> traces) {
+        Map<String, long[]> groups = new TreeMap<>();
+        for (CommandTrace trace : traces) {
+            String key = trace.getCommand() + "\t" + (trace.getLocator() == null ? "" : trace.getLocator());
+            long[] stats = groups.computeIfAbsent(key, k -> new long[3]);
+            stats[0]++;
+            stats[1] += trace.getDurationNanos();
+            if (!"ok".equals(trace.getOutcome())) {
+                stats[2]++;
+            }
+        }
+        StringBuilder out = new StringBuilder("command,locator,calls,totalMillis,avgMillis,errors\n");
+        groups.entrySet().stream()
+            .sorted((a, b) -> Long.compare(b.getValue()[1], a.getValue()[1]))
+            .forEach(entry -> {
+                String[] key = entry.getKey().split("\t", 2);
+                long[] stats = entry.getValue();
+                out.append(key[0]).append(",\"").append(key[1].replace("\"", "\"\"")).append("\",")
+                    .append(stats[0]).append(',')
+                    .append(String.format(Locale.ROOT, "%.3f", stats[1] / 1_000_000.0)).append(',')
+                    .append(String.format(Locale.ROOT, "%.3f", stats[1] / 1_000_000.0 / stats[0])).append(',')
+                    .append(stats[2]).append('\n');
+            });
+        return out.toString();
+    }
+
+    // Folded-stack frames cannot contain the frame separator or line breaks
+    private static String frame(String name) {
+        return name.replace(';', ',').replace('\n', ' ').replace('\r', ' ');
+    }
+}
@@ -0,0 +1,363 @@
+package com.harel.automation.driver;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Resolves the chromedriver binary once per JVM and points Selenium at it.
+ * The resolved binary is pinned in a lock file in the cache directory, so later runs -
+ * including parallel forks - reuse it without touching the network.
+ *
+ * Resolution order:
+ * 1. -Dwebdriver.chrome.driver pointing at an existing binary (preinstalled)
+ * 2. the lock file, when its binary still exists, matches -Ddriver.version and was resolved for the
+ *    installed Chrome's major version - a Chrome auto-update re-resolves
+ * 3. offline: chromedriver from the Selenium Manager cache (~/.cache/selenium) or the PATH
+ * 4. online: WebDriverManager download into the cache directory, then the lock file is written
+ *
+ * geckodriver (Firefox engine) and the chrome-headless-shell binary are resolved here too, more simply - see
+ * geckodriver() and chromeHeadlessShell().
+ *
+ * Configuration (system properties):
+ * driver.offline - never use the network; fail if no local binary is found (default false)
+ * driver.version - pin a chromedriver version, e.g. 120.0.6099.109 (default: latest matching Chrome)
+ * driver.cache.dir - where downloads and the lock file live (default ~/.cache/harel-automation/drivers)
+ * chrome.headless.shell.binary - chrome-headless-shell to use (default: newest in the Selenium Manager cache, else PATH)
+ */
+public final class DriverBootstrap {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DriverBootstrap.class);
+
+    private static final String DRIVER_PROPERTY = "webdriver.chrome.driver";
+    private static final String GECKO_DRIVER_PROPERTY = "webdriver.gecko.driver";
+    private static final String HEADLESS_SHELL_PROPERTY = "chrome.headless.shell.binary";
+    private static final String LOCK_FILE = "chromedriver.lock";
+    private static final Pattern VERSION_PATTERN = Pattern.compile("(\\d+)\\.\\d+");
+    private static final long VERSION_TIMEOUT_SECONDS = 10;
+
+    private static volatile Path chromedriver;
+    private static volatile boolean geckodriverResolved;
+    private static volatile Path chromeHeadlessShell;
+    private static volatile long bootstrapMillis = -1;
+
+    private DriverBootstrap() {
+    }
+
+    /**
+     * Path of the chromedriver binary, resolving it on the first call
+     */
+    public static Path chromedriver() {
+        Path resolved = chromedriver;
+        if (resolved != null) {
+            return resolved;
+        }
+        synchronized (DriverBootstrap.class) {
+            if (chromedriver == null) {
+                long started = System.nanoTime();
+                Resolution resolution = resolve();
+                System.setProperty(DRIVER_PROPERTY, resolution.path.toString());
+                bootstrapMillis = (System.nanoTime() - started) / 1_000_000;
+                chromedriver = resolution.path;
+                LOG.info("chromedriver {} from {} ({}) in {} ms", resolution.version, resolution.source, resolution.path,
+                    bootstrapMillis);
+            }
+            return chromedriver;
+        }
+    }
+
+    /**
+     * Time the first chromedriver() call took, or -1 before bootstrap
+     */
+    public static long getBootstrapMillis() {
+        return bootstrapMillis;
+    }
+
+    /**
+     * Point Selenium at geckodriver once per JVM: -Dwebdriver.gecko.driver when it names a binary, otherwise a
+     * WebDriverManager download into the cache directory. Offline, Selenium Manager looks for a local one
+     * when the session starts.
+     */
+    public static void geckodriver() {
+        if (geckodriverResolved) {
+            return;
+        }
+        synchronized (DriverBootstrap.class) {
+            if (geckodriverResolved) {
+                return;
+            }
+            String preinstalled = System.getProperty(GECKO_DRIVER_PROPERTY);
+            boolean installed = preinstalled != null && Files.isExecutable(Paths.get(preinstalled));
+            if (!installed && !Boolean.getBoolean("driver.offline")) {
+                WebDriverManager manager = WebDriverManager.firefoxdriver().cachePath(cacheDir().toString());
+                manager.setup();
+                LOG.info("geckodriver {} from WebDriverManager ({})", manager.getDownloadedDriverVersion(),
+                    manager.getDownloadedDriverPath());
+            }
+            geckodriverResolved = true;
+        }
+    }
+
+    /**
+     * Path of the chrome-headless-shell binary: -Dchrome.headless.shell.binary, else the newest one in the
+     * Selenium Manager cache (~/.cache/selenium/chrome-headless-shell), else the first one on the PATH
+     */
+    public static Path chromeHeadlessShell() {
+        Path resolved = chromeHeadlessShell;
+        if (resolved != null) {
+            return resolved;
+        }
+        synchronized (DriverBootstrap.class) {
+            if (chromeHeadlessShell == null) {
+                try {
+                    chromeHeadlessShell = findHeadlessShell();
+                } catch (IOException e) {
+                    throw new IllegalStateException("Could not look for chrome-headless-shell", e);
+                }
+                LOG.info("chrome-headless-shell at {}", chromeHeadlessShell);
+            }
+            return chromeHeadlessShell;
+        }
+    }
+
+    private static Path findHeadlessShell() throws IOException {
+        String configured = System.getProperty(HEADLESS_SHELL_PROPERTY);
+        if (configured != null) {
+            if (!Files.isExecutable(Paths.get(configured))) {
+                throw new IllegalStateException("-D" + HEADLESS_SHELL_PROPERTY + "=" + configured
+                    + " is not an executable");
+            }
+            return Paths.get(configured);
+        }
+        String binary = System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("win")
+            ? "chrome-headless-shell.exe" : "chrome-headless-shell";
+        Path cached = Paths.get(System.getenv().getOrDefault("SE_CACHE_PATH",
+            Paths.get(System.getProperty("user.home"), ".cache", "selenium").toString()), "chrome-headless-shell");
+        if (Files.isDirectory(cached)) {
+            // Layout: chrome-headless-shell/<platform>/<version>/.../chrome-headless-shell
+            try (Stream<Path> files = Files.walk(cached, 5)) {
+                Optional<Path> found = files
+                    .filter(p -> p.getFileName().toString().equals(binary) && Files.isRegularFile(p))
+                    .filter(p -> Files.isExecutable(p) && cached.relativize(p).getNameCount() > 2)
+                    .max(Comparator.comparing(p -> cached.relativize(p).getName(1).toString(),
+                        DriverBootstrap::compareVersions));
+                if (found.isPresent()) {
+                    return found.get();
+                }
+            }
+        }
+        for (String dir : System.getenv().getOrDefault("PATH", "").split(java.io.File.pathSeparator)) {
+            Path candidate = Paths.get(dir, binary);
+            if (!dir.isEmpty() && Files.isExecutable(candidate)) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("No chrome-headless-shell found in " + cached + " or on the PATH - install one "
+            + "(npx @puppeteer/browsers install chrome-headless-shell@stable) or set -D" + HEADLESS_SHELL_PROPERTY);
+    }
+
+    private static Path cacheDir() {
+        return Paths.get(System.getProperty("driver.cache.dir",
+            Paths.get(System.getProperty("user.home"), ".cache", "harel-automation", "drivers").toString()));
+    }
+
+    private static Resolution resolve() {
+        String pinnedVersion = System.getProperty("driver.version");
+        boolean offline = Boolean.getBoolean("driver.offline");
+        Path cacheDir = cacheDir();
+
+        String preinstalled = System.getProperty(DRIVER_PROPERTY);
+        if (preinstalled != null && Files.isExecutable(Paths.get(preinstalled))) {
+            return new Resolution(Paths.get(preinstalled), "unknown", "preinstalled binary");
+        }
+
+        try {
+            Files.createDirectories(cacheDir);
+            // Serialises resolution across forked JVMs sharing the cache
+            try (FileChannel channel = FileChannel.open(cacheDir.resolve(LOCK_FILE + ".guard"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                // A pinned version is used whatever Chrome is installed
+                String browserMajor = pinnedVersion == null ? installedChromeMajor() : null;
+                Optional<Resolution> locked = readLock(cacheDir.resolve(LOCK_FILE), pinnedVersion, browserMajor);
+                if (locked.isPresent()) {
+                    return locked.get();
+                }
+                Resolution resolution = offline ? findLocal(pinnedVersion) : download(cacheDir, pinnedVersion);
+                writeLock(cacheDir.resolve(LOCK_FILE), resolution, browserMajor);
+                return resolution;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not use driver cache " + cacheDir, e);
+        }
+    }
+
+    private static Optional<Resolution> readLock(Path lockFile, String pinnedVersion, String browserMajor)
+            throws IOException {
+        if (!Files.exists(lockFile)) {
+            return Optional.empty();
+        }
+        Properties lock = new Properties();
+        try (Reader reader = Files.newBufferedReader(lockFile, StandardCharsets.UTF_8)) {
+            lock.load(reader);
+        }
+        String version = lock.getProperty("version");
+        Path path = Paths.get(lock.getProperty("path", ""));
+        if (!Files.isExecutable(path) || (pinnedVersion != null && !pinnedVersion.equals(version))) {
+            return Optional.empty();
+        }
+        // Locks written before the browser version was recorded fall back to the driver's own major version
+        String lockedMajor = lock.getProperty("browser.major", majorVersion(version));
+        if (browserMajor != null && lockedMajor != null && !browserMajor.equals(lockedMajor)) {
+            LOG.info("Chrome {} is installed but chromedriver {} was pinned for Chrome {} - re-resolving", browserMajor,
+                version, lockedMajor);
+            return Optional.empty();
+        }
+        return Optional.of(new Resolution(path, version, "version lock"));
+    }
+
+    private static void writeLock(Path lockFile, Resolution resolution, String browserMajor) throws IOException {
+        Properties lock = new Properties();
+        lock.setProperty("version", resolution.version);
+        if (browserMajor != null) {
+            lock.setProperty("browser.major", browserMajor);
+        }
+        lock.setProperty("path", resolution.path.toAbsolutePath().toString());
+        lock.setProperty("source", resolution.source);
+        try (Writer writer = Files.newBufferedWriter(lockFile, StandardCharsets.UTF_8)) {
+            lock.store(writer, "chromedriver pinned by DriverBootstrap - delete to re-resolve");
+        }
+    }
+
+    private static Resolution download(Path cacheDir, String pinnedVersion) {
+        WebDriverManager manager = WebDriverManager.chromedriver().cachePath(cacheDir.toString());
+        if (pinnedVersion != null) {
+            manager.driverVersion(pinnedVersion);
+        }
+        manager.setup();
+        return new Resolution(Paths.get(manager.getDownloadedDriverPath()), manager.getDownloadedDriverVersion(),
+            "WebDriverManager");
+    }
+
+    /**
+     * Major version of the installed Chrome from "chrome --version", or null when it cannot be told -
+     * no Chrome found, or a platform where the binary prints nothing (Windows)
+     */
+    private static String installedChromeMajor() {
+        try {
+            Optional<Path> browser = WebDriverManager.chromedriver().getBrowserPath();
+            if (!browser.isPresent()) {
+                return null;
+            }
+            Process process = new ProcessBuilder(browser.get().toString(), "--version").redirectErrorStream(true).start();
+            if (!process.waitFor(VERSION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return null;
+            }
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            return majorVersion(output);
+        } catch (IOException | RuntimeException e) {
+            LOG.debug("Could not detect the Chrome version: {}", e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * First number of the first dotted version in the text - "Google Chrome 120.0.6099.109" gives "120"
+     */
+    static String majorVersion(String text) {
+        if (text == null) {
+            return null;
+        }
+        Matcher matcher = VERSION_PATTERN.matcher(text);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    /**
+     * Newest (or pinned) chromedriver in the Selenium Manager cache, else the first one on the PATH
+     */
+    private static Resolution findLocal(String pinnedVersion) throws IOException {
+        String binary = System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("win")
+            ? "chromedriver.exe" : "chromedriver";
+        String seleniumCache = System.getenv().getOrDefault("SE_CACHE_PATH",
+            Paths.get(System.getProperty("user.home"), ".cache", "selenium").toString());
+        Path cached = Paths.get(seleniumCache, "chromedriver");
+        if (Files.isDirectory(cached)) {
+            // Layout: chromedriver/<platform>/<version>/chromedriver
+            try (Stream<Path> files = Files.walk(cached, 3)) {
+                Optional<Path> found = files
+                    .filter(p -> p.getFileName().toString().equals(binary) && Files.isExecutable(p))
+                    .filter(p -> pinnedVersion == null || p.getParent().getFileName().toString().equals(pinnedVersion))
+                    .max(Comparator.comparing(p -> p.getParent().getFileName().toString(), DriverBootstrap::compareVersions));
+                if (found.isPresent()) {
+                    return new Resolution(found.get(), found.get().getParent().getFileName().toString(),
+                        "Selenium Manager cache");
+                }
+            }
+        }
+        for (String dir : System.getenv().getOrDefault("PATH", "").split(java.io.File.pathSeparator)) {
+            Path candidate = Paths.get(dir, binary);
+            if (!dir.isEmpty() && Files.isExecutable(candidate)) {
+                return new Resolution(candidate, pinnedVersion == null ? "unknown" : pinnedVersion, "PATH");
+            }
+        }
+        throw new IllegalStateException("driver.offline is set but no chromedriver was found in "
+            + cached + " or on the PATH - install one or set -D" + DRIVER_PROPERTY);
+    }
+
+    static int compareVersions(String a, String b) {
+        String[] left = a.split("\\.");
+        String[] right = b.split("\\.");
+        for (int i = 0; i < Math.max(left.length, right.length); i++) {
+            int l = i < left.length ? parse(left[i]) : 0;
+            int r = i < right.length ? parse(right[i]) : 0;
+            if (l != r) {
+                return Integer.compare(l, r);
+            }
+        }
+        return 0;
+    }
+
+    private static int parse(String part) {
+        try {
+            return Integer.parseInt(part);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static final class Resolution {
+
+        private final Path path;
+        private final String version;
+        private final String source;
+
+        private Resolution(Path path, String version, String source) {
+            this.path = path;
+            this.version = version;
+            this.source = source;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.harel.automation.driver;
+
+import com.harel.automation.network.NetworkLayer;
+import com.harel.automation.utils.StepTimer;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Per-thread holder of the current test's browser session.
+ * Tests start and stop the context; page objects read the driver from it,
+ * so parallel test methods never share a WebDriver.
+ */
+public final class DriverContext {
+
+    private static final Duration DEFAULT_WAIT_TIMEOUT = Duration.ofSeconds(20);
+
+    private static final ThreadLocal<WebDriver> DRIVER = new ThreadLocal<>();
+    private static final ThreadLocal<WebDriverWait> WAIT = new ThreadLocal<>();
+
+    private DriverContext() {
+    }
+
+    /**
+     * Borrow a session from the pool for the current thread
+     */
+    public static WebDriver start() {
+        return start(DEFAULT_WAIT_TIMEOUT);
+    }
+
+    /**
+     * Borrow a session from the pool for the current thread with the given explicit-wait timeout
+     */
+    public static WebDriver start(Duration waitTimeout) {
+        if (DRIVER.get() != null) {
+            throw new IllegalStateException("Driver context already started on thread " + Thread.currentThread().getName());
+        }
+        WebDriver driver = DriverPool.getInstance().acquire();
+        DRIVER.set(driver);
+        WAIT.set(new TimedWebDriverWait(driver, waitTimeout));
+        return driver;
+    }
+
+    /**
+     * Driver bound to the current thread
+     */
+    public static WebDriver getDriver() {
+        WebDriver driver = DRIVER.get();
+        if (driver == null) {
+            throw new IllegalStateException("No driver bound to thread " + Thread.currentThread().getName()
+                + " - call DriverContext.start() in @BeforeMethod");
+        }
+        return driver;
+    }
+
+    /**
+     * Explicit wait bound to the current thread's driver
+     */
+    public static WebDriverWait getWait() {
+        getDriver();
+        return WAIT.get();
+    }
+
+    /**
+     * Explicit wait with its own timeout, e.g. bounded by what is left of an action's deadline
+     */
+    public static WebDriverWait getWait(Duration timeout) {
+        return new TimedWebDriverWait(getDriver(), timeout);
+    }
+
+    public static boolean isActive() {
+        return DRIVER.get() != null;
+    }
+
+    /**
+     * Network layer of the current thread's session, if one is attached
+     */
+    public static Optional<NetworkLayer> getNetworkLayer() {
+        return DriverPool.getInstance().getNetworkLayer(getDriver());
+    }
+
+    /**
+     * Explicit wait that reports the time spent waiting to the current step
+     */
+    private static class TimedWebDriverWait extends WebDriverWait {
+
+        TimedWebDriverWait(WebDriver driver, Duration timeout) {
+            super(driver, timeout);
+        }
+
+        @Override
+        public <V> V until(Function<? super WebDriver, V> isTrue) {
+            long started = System.nanoTime();
+            try {
+                return super.until(isTrue);
+            } finally {
+                StepTimer.recordWait(System.nanoTime() - started);
+            }
+        }
+    }
+
+    /**
+     * Return the current thread's session to the pool
+     */
+    public static void stop() {
+        WebDriver driver = DRIVER.get();
+        DRIVER.remove();
+        WAIT.remove();
+        DriverPool.getInstance().release(driver);
+    }
+}
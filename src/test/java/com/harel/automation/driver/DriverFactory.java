@@ -0,0 +1,87 @@
+package com.harel.automation.driver;
+
+import com.harel.automation.grid.GridScheduler;
+import com.harel.automation.network.HttpMode;
+import com.harel.automation.network.NetworkLayer;
+import com.harel.automation.utils.WaitUtils;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Creates configured browser sessions for the driver pool on the engine selected with -Dbrowser.engine,
+ * locally or on Selenium Grid when -Ddriver.remote.url is set
+ */
+public class DriverFactory {
+
+    /**
+     * Start a standalone browser session, outside the pool, configured by the selected browser profile.
+     * Nothing would close a network layer or report its stats for such a session, so none is attached;
+     * lean profiles still get their fonts blocked by the browser.
+     * The session is decorated so every WebDriver command is traced and attributed to the current step.
+     */
+    public static WebDriver createDriver() {
+        return createDriver(BrowserProfile.current());
+    }
+
+    public static WebDriver createDriver(BrowserProfile profile) {
+        if (HttpMode.current() != HttpMode.OFF) {
+            throw new IllegalStateException("HTTP " + HttpMode.current().name().toLowerCase(Locale.ROOT)
+                + " needs the network layer of a pooled session");
+        }
+        BrowserEngine engine = BrowserEngines.current();
+        WebDriver browser = startBrowser(profile);
+        if (profile.blocksAssets()) {
+            engine.blockUrls(browser, BrowserProfile.BLOCKED_FONT_URLS);
+        }
+        installWaitProbes(engine, browser);
+        return decorate(browser);
+    }
+
+    /**
+     * Start the undecorated browser - DevTools features can only be reached through this instance
+     */
+    public static WebDriver startBrowser(BrowserProfile profile) {
+        BrowserEngine engine = BrowserEngines.current();
+        if (GridScheduler.isEnabled()) {
+            return GridScheduler.getInstance().startSession(engine.remoteCapabilities(profile));
+        }
+        return engine.start(profile);
+    }
+
+    /**
+     * Attach the DevTools network layer where the engine supports it; without it, lean profiles still get
+     * their fonts blocked by the browser. The WaitUtils probes are registered on the same DevTools session.
+     */
+    public static NetworkLayer attachNetworkLayer(WebDriver browser, BrowserProfile profile) {
+        BrowserEngine engine = BrowserEngines.current();
+        NetworkLayer network = null;
+        if (engine.supportsNetworkLayer()) {
+            network = NetworkLayer.attach(browser, profile.blocksAssets() ? BrowserProfile.BLOCKED_FONT_URLS : List.of());
+        } else if (HttpMode.current() != HttpMode.OFF) {
+            throw new IllegalStateException("HTTP " + HttpMode.current().name().toLowerCase(Locale.ROOT)
+                + " needs the network layer, which browser engine " + engine.getName() + " does not support");
+        }
+        if (network == null && profile.blocksAssets()) {
+            engine.blockUrls(browser, BrowserProfile.BLOCKED_FONT_URLS);
+        }
+        installWaitProbes(engine, browser);
+        return network;
+    }
+
+    // Counts the requests a page starts while loading; without DevTools WaitUtils patches the counters in later
+    private static void installWaitProbes(BrowserEngine engine, WebDriver browser) {
+        if (engine.supportsNetworkLayer()) {
+            NetworkLayer.evaluateOnNewDocument(browser, WaitUtils.INSTALL_PROBES);
+        }
+    }
+
+    /**
+     * Wrap the browser so every WebDriver command is traced and attributed to the current step
+     */
+    public static WebDriver decorate(WebDriver browser) {
+        return new EventFiringDecorator<>(new WebDriverCommandListener()).decorate(browser);
+    }
+}
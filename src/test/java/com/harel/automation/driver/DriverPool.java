@@ -0,0 +1,202 @@
+package com.harel.automation.driver;
+
+import com.harel.automation.grid.GridScheduler;
+import com.harel.automation.network.NetworkLayer;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread-safe pool of warm browser sessions shared across test methods.
+ * Sessions are reset on release - cookies, storage and service workers of every origin the test visited,
+ * cleared through CDP - and health-checked on acquire; broken sessions, and sessions of engines without CDP,
+ * whose state cannot be cleared beyond the current origin, are evicted and replaced.
+ * Each pooled (decorated) driver is tracked together with its raw browser and network layer.
+ *
+ * Configuration (system properties):
+ * driver.pool.size - maximum number of concurrent browsers (default 2; on Grid, the Grid's slots for the browser)
+ * driver.pool.acquireTimeoutSeconds - how long acquire blocks for a free slot (default 300)
+ */
+public class DriverPool {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DriverPool.class);
+
+    private static final DriverPool INSTANCE = new DriverPool(
+        Integer.getInteger("driver.pool.size", defaultSize()),
+        Integer.getInteger("driver.pool.acquireTimeoutSeconds", 300));
+
+    private final int size;
+    private final int acquireTimeoutSeconds;
+    private final Semaphore slots;
+    private final BlockingDeque<WebDriver> idle = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, WebDriver> sessions = new ConcurrentHashMap<>();
+    private final Map<WebDriver, NetworkLayer> networkLayers = new ConcurrentHashMap<>();
+
+    private DriverPool(int size, int acquireTimeoutSeconds) {
+        this.size = size;
+        this.acquireTimeoutSeconds = acquireTimeoutSeconds;
+        this.slots = new Semaphore(size, true);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "driver-pool-shutdown"));
+    }
+
+    public static DriverPool getInstance() {
+        return INSTANCE;
+    }
+
+    // A pool larger than the Grid only queues sessions on the hub, where they count against the new-session timeout
+    private static int defaultSize() {
+        if (!GridScheduler.isEnabled()) {
+            return 2;
+        }
+        String browserName = BrowserEngines.current().remoteCapabilities(BrowserProfile.current()).getBrowserName();
+        int capacity = GridScheduler.getInstance().getCapacity(browserName);
+        LOG.info("Grid has {} {} slot(s)", capacity, browserName);
+        return Math.max(capacity, 1);
+    }
+
+    /**
+     * Borrow a healthy session, starting a new browser only when no warm one is idle
+     */
+    public WebDriver acquire() {
+        try {
+            if (!slots.tryAcquire(acquireTimeoutSeconds, TimeUnit.SECONDS)) {
+                throw new RuntimeException("No browser available in pool of " + size
+                    + " after " + acquireTimeoutSeconds + "s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a browser", e);
+        }
+
+        try {
+            WebDriver driver;
+            while ((driver = idle.pollFirst()) != null) {
+                if (isHealthy(driver)) {
+                    LOG.info("Reusing warm browser session from pool");
+                    return driver;
+                }
+                evict(driver);
+            }
+
+            BrowserProfile profile = BrowserProfile.current();
+            WebDriver browser = DriverFactory.startBrowser(profile);
+            NetworkLayer network = DriverFactory.attachNetworkLayer(browser, profile);
+            driver = DriverFactory.decorate(browser);
+            sessions.put(driver, browser);
+            if (network != null) {
+                networkLayers.put(driver, network);
+            }
+            LOG.info("Started new {} session ({}/{})", BrowserEngines.current().getName(), sessions.size(), size);
+            return driver;
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Return a session to the pool after clearing its state; sessions that fail to reset are evicted
+     */
+    public void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        try {
+            if (sessions.containsKey(driver) && reset(driver)) {
+                // Most recently used first - keeps the warmest browser busy
+                idle.offerFirst(driver);
+            } else {
+                evict(driver);
+            }
+        } finally {
+            slots.release();
+        }
+    }
+
+    /**
+     * The undecorated browser behind a pooled driver - for DevTools access
+     */
+    public Optional<WebDriver> getBrowser(WebDriver driver) {
+        return Optional.ofNullable(sessions.get(driver));
+    }
+
+    /**
+     * The network layer attached to a pooled driver, if any
+     */
+    public Optional<NetworkLayer> getNetworkLayer(WebDriver driver) {
+        return Optional.ofNullable(networkLayers.get(driver));
+    }
+
+    /**
+     * Quit every browser owned by the pool
+     */
+    public void shutdown() {
+        idle.clear();
+        for (WebDriver driver : sessions.keySet()) {
+            evict(driver);
+        }
+    }
+
+    private boolean reset(WebDriver driver) {
+        WebDriver browser = sessions.get(driver);
+        if (!(browser instanceof HasCdp)) {
+            LOG.debug("Browser session cannot clear every origin, evicting");
+            return false;
+        }
+        try {
+            // Close extra tabs/windows opened by the test
+            String mainWindow = driver.getWindowHandles().iterator().next();
+            for (String handle : driver.getWindowHandles()) {
+                if (!handle.equals(mainWindow)) {
+                    driver.switchTo().window(handle).close();
+                }
+            }
+            driver.switchTo().window(mainWindow);
+
+            // WebDriver only reaches the current origin; CDP clears whatever the test left anywhere
+            HasCdp cdp = (HasCdp) browser;
+            cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            cdp.executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", "*", "storageTypes", "all"));
+            // Session storage belongs to the tab, which stays open so the DevTools session keeps its target
+            ((JavascriptExecutor) driver).executeScript("try { window.sessionStorage.clear(); } catch (e) {}");
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            LOG.warn("Could not reset browser session, evicting: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return Boolean.TRUE.equals(((JavascriptExecutor) driver).executeScript("return true;"));
+        } catch (Exception e) {
+            LOG.warn("Pooled browser session failed health check: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void evict(WebDriver driver) {
+        sessions.remove(driver);
+        NetworkLayer network = networkLayers.remove(driver);
+        if (network != null) {
+            network.close();
+        }
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            // Session already gone
+        }
+    }
+}
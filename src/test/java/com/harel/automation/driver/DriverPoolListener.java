@@ -0,0 +1,20 @@
+package com.harel.automation.driver;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * Quits the pooled browsers once the suite has finished
+ */
+public class DriverPoolListener implements ISuiteListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DriverPoolListener.class);
+
+    @Override
+    public void onFinish(ISuite suite) {
+        DriverPool.getInstance().shutdown();
+        LOG.info("Driver pool shut down");
+    }
+}
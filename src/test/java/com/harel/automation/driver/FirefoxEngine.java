@@ -0,0 +1,38 @@
+package com.harel.automation.driver;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.firefox.FirefoxDriver;
+
+/**
+ * Mozilla Firefox through geckodriver. Firefox has no Chrome DevTools network domain, so sessions run without
+ * the network layer; the lean profiles drop images and web fonts through Firefox preferences instead.
+ */
+public class FirefoxEngine implements BrowserEngine {
+
+    @Override
+    public String getName() {
+        return "firefox";
+    }
+
+    @Override
+    public WebDriver start(BrowserProfile profile) {
+        DriverBootstrap.geckodriver();
+        FirefoxDriver browser = new FirefoxDriver(profile.toFirefoxOptions());
+        if (!profile.isHeadless()) {
+            // Firefox has no --start-maximized
+            browser.manage().window().maximize();
+        }
+        return browser;
+    }
+
+    @Override
+    public Capabilities remoteCapabilities(BrowserProfile profile) {
+        return profile.toFirefoxOptions();
+    }
+
+    @Override
+    public boolean supportsNetworkLayer() {
+        return false;
+    }
+}
@@ -0,0 +1,122 @@
+package com.harel.automation.driver;
+
+import com.harel.automation.utils.StepTimer;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Traces every WebDriver wire command: name, locator, duration and outcome,
+ * attached to the test and step running on the calling thread.
+ * Also counts the command against the current step for the step timing report.
+ * Traces are kept in memory until CommandTraceReporter writes them at the end of the suite, so runs
+ * without a suite - the load test - turn tracing off and only count commands.
+ *
+ * Configuration (system properties):
+ * webdriver.trace - keep a trace of every command (default true)
+ */
+public class WebDriverCommandListener implements WebDriverListener {
+
+    // Accessors that only return a local (decorated) object and never reach the browser
+    private static final Set<String> LOCAL_METHODS = Set.of(
+        "manage", "navigate", "switchTo", "window", "timeouts", "logs",
+        "getWrappedDriver", "getWrappedElement", "equals", "hashCode", "toString");
+
+    private static final ConcurrentLinkedQueue<CommandTrace> TRACES = new ConcurrentLinkedQueue<>();
+
+    private static final ThreadLocal<Deque<PendingCall>> PENDING = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final boolean tracing = Boolean.parseBoolean(System.getProperty("webdriver.trace", "true"));
+
+    /**
+     * All commands traced in this JVM so far
+     */
+    public static List<CommandTrace> getTraces() {
+        return new ArrayList<>(TRACES);
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (LOCAL_METHODS.contains(method.getName())) {
+            return;
+        }
+        StepTimer.recordCommand();
+        if (!tracing) {
+            return;
+        }
+        PENDING.get().push(new PendingCall(method.getName()));
+    }
+
+    @Override
+    public void beforeFindElement(WebDriver driver, By locator) {
+        describeLocator(locator);
+    }
+
+    @Override
+    public void beforeFindElements(WebDriver driver, By locator) {
+        describeLocator(locator);
+    }
+
+    @Override
+    public void beforeFindElement(WebElement element, By locator) {
+        describeLocator(locator);
+    }
+
+    @Override
+    public void beforeFindElements(WebElement element, By locator) {
+        describeLocator(locator);
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        complete(method, "ok");
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        complete(method, cause.getClass().getSimpleName());
+    }
+
+    private void describeLocator(By locator) {
+        PendingCall call = PENDING.get().peek();
+        if (call != null) {
+            call.locator = locator.toString();
+        }
+    }
+
+    private void complete(Method method, String outcome) {
+        if (!tracing || LOCAL_METHODS.contains(method.getName())) {
+            return;
+        }
+        PendingCall call = PENDING.get().poll();
+        if (call == null) {
+            return;
+        }
+        TRACES.add(new CommandTrace(StepTimer.currentTestId(), StepTimer.currentStepPath(),
+            Thread.currentThread().getName(), call.command, call.locator, call.startEpochMillis,
+            System.nanoTime() - call.startNanos, outcome));
+    }
+
+    private static final class PendingCall {
+
+        private final String command;
+        private final long startEpochMillis = System.currentTimeMillis();
+        private final long startNanos = System.nanoTime();
+        private String locator;
+
+        private PendingCall(String command) {
+            this.command = command;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.harel.automation.flow;
+
+import org.openqa.selenium.Cookie;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Browser state captured when the wizard reached a named step: URL, cookies and web storage
+ */
+public class FlowCheckpoint {
+
+    private final String name;
+    private final String url;
+    private final long capturedEpochMillis;
+    private final List<Map<String, Object>> cookies;
+    private final Map<String, Object> localStorage;
+    private final Map<String, Object> sessionStorage;
+
+    FlowCheckpoint(String name, String url, long capturedEpochMillis, List<Map<String, Object>> cookies,
+                   Map<String, Object> localStorage, Map<String, Object> sessionStorage) {
+        this.name = name;
+        this.url = url;
+        this.capturedEpochMillis = capturedEpochMillis;
+        this.cookies = cookies;
+        this.localStorage = localStorage;
+        this.sessionStorage = sessionStorage;
+    }
+
+    static Map<String, Object> cookieToMap(Cookie cookie) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", cookie.getName());
+        map.put("value", cookie.getValue());
+        map.put("path", cookie.getPath());
+        map.put("domain", cookie.getDomain());
+        map.put("secure", cookie.isSecure());
+        map.put("httpOnly", cookie.isHttpOnly());
+        map.put("sameSite", cookie.getSameSite());
+        map.put("expiry", cookie.getExpiry() == null ? null : cookie.getExpiry().getTime());
+        return map;
+    }
+
+    /**
+     * Cookies to add back on the checkpoint's origin. Host-only cookies lose their domain,
+     * which the browser would otherwise reject for hosts like localhost.
+     */
+    List<Cookie> restorableCookies() {
+        List<Cookie> restorable = new ArrayList<>();
+        for (Map<String, Object> map : cookies) {
+            Cookie.Builder builder = new Cookie.Builder((String) map.get("name"), (String) map.get("value"))
+                .path((String) map.get("path"))
+                .isSecure(Boolean.TRUE.equals(map.get("secure")))
+                .isHttpOnly(Boolean.TRUE.equals(map.get("httpOnly")));
+            String domain = (String) map.get("domain");
+            if (domain != null && domain.startsWith(".")) {
+                builder.domain(domain);
+            }
+            if (map.get("sameSite") != null) {
+                builder.sameSite((String) map.get("sameSite"));
+            }
+            if (map.get("expiry") != null) {
+                builder.expiresOn(new Date(((Number) map.get("expiry")).longValue()));
+            }
+            restorable.add(builder.build());
+        }
+        return restorable;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public long getCapturedEpochMillis() {
+        return capturedEpochMillis;
+    }
+
+    Map<String, Object> getLocalStorage() {
+        return localStorage;
+    }
+
+    Map<String, Object> getSessionStorage() {
+        return sessionStorage;
+    }
+
+    Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", name);
+        map.put("url", url);
+        map.put("capturedEpochMillis", capturedEpochMillis);
+        map.put("cookies", cookies);
+        map.put("localStorage", localStorage);
+        map.put("sessionStorage", sessionStorage);
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    static FlowCheckpoint fromMap(Map<String, Object> map) {
+        return new FlowCheckpoint((String) map.get("name"), (String) map.get("url"),
+            ((Number) map.get("capturedEpochMillis")).longValue(),
+            (List<Map<String, Object>>) map.get("cookies"),
+            (Map<String, Object>) map.get("localStorage"),
+            (Map<String, Object>) map.get("sessionStorage"));
+    }
+}
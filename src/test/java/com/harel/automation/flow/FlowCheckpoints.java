@@ -0,0 +1,184 @@
+package com.harel.automation.flow;
+
+import com.harel.automation.utils.StepTimer;
+import com.harel.automation.utils.TestConfig;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Checkpoints of the purchase wizard, so a test can start at a later step without replaying the ones before it.
+ * The first test to reach a step captures the browser state; later tests restore it in a few commands
+ * and fall back to replaying the steps when the restored page does not verify.
+ * Checkpoints are shared across threads and kept on disk for later runs until they expire.
+ *
+ * Configuration (system properties):
+ * checkpoints - use checkpoints (default true); false always replays the steps
+ * checkpoints.dir - where checkpoints are saved (default target/checkpoints)
+ * checkpoints.maxAgeMinutes - ignore checkpoints older than this (default 30)
+ */
+public final class FlowCheckpoints {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FlowCheckpoints.class);
+
+    private static final String READ_STORAGE_SCRIPT =
+        "function dump(storage) {" +
+        "  var values = {};" +
+        "  for (var i = 0; i < storage.length; i++) { values[storage.key(i)] = storage.getItem(storage.key(i)); }" +
+        "  return values;" +
+        "}" +
+        "return [dump(window.localStorage), dump(window.sessionStorage)];";
+
+    private static final String WRITE_STORAGE_SCRIPT =
+        "function load(storage, values) {" +
+        "  storage.clear();" +
+        "  Object.keys(values).forEach(function (key) { storage.setItem(key, values[key]); });" +
+        "}" +
+        "load(window.localStorage, arguments[0]);" +
+        "load(window.sessionStorage, arguments[1]);";
+
+    private static final Map<String, FlowCheckpoint> CHECKPOINTS = new ConcurrentHashMap<>();
+
+    private FlowCheckpoints() {
+    }
+
+    /**
+     * Name of the checkpoint on the travel dates page after selecting the continent
+     */
+    public static String datesPage(String continent) {
+        return "dates-continent-" + continent;
+    }
+
+    /**
+     * Bring the browser to the named step: restore its checkpoint if there is a valid one,
+     * otherwise run the steps that lead there and capture a checkpoint for the next test.
+     */
+    public static void reach(WebDriver driver, String name, Runnable steps, Predicate<WebDriver> atStep) {
+        if (isEnabled() && restore(driver, name, atStep)) {
+            return;
+        }
+        steps.run();
+        capture(driver, name);
+    }
+
+    /**
+     * Save the current URL, cookies and web storage under the name
+     */
+    @SuppressWarnings("unchecked")
+    public static void capture(WebDriver driver, String name) {
+        if (!isEnabled()) {
+            return;
+        }
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        for (Cookie cookie : driver.manage().getCookies()) {
+            cookies.add(FlowCheckpoint.cookieToMap(cookie));
+        }
+        List<Object> storage = (List<Object>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+        FlowCheckpoint checkpoint = new FlowCheckpoint(name, driver.getCurrentUrl(), System.currentTimeMillis(),
+            cookies, (Map<String, Object>) storage.get(0), (Map<String, Object>) storage.get(1));
+        CHECKPOINTS.put(name, checkpoint);
+        save(checkpoint);
+        LOG.info("Checkpoint '{}' captured at {}", name, checkpoint.getUrl());
+    }
+
+    /**
+     * Restore the named checkpoint into the browser. Returns false - leaving the browser on an arbitrary
+     * page - when there is no usable checkpoint or the restored page fails the check.
+     */
+    public static boolean restore(WebDriver driver, String name, Predicate<WebDriver> atStep) {
+        FlowCheckpoint checkpoint = find(name);
+        if (checkpoint == null) {
+            return false;
+        }
+        try (StepTimer.Step step = StepTimer.start("restore checkpoint " + name)) {
+            // Cookies and storage can only be written from a page on the checkpoint's origin
+            driver.get(origin(checkpoint.getUrl()) + "/favicon.ico");
+            driver.manage().deleteAllCookies();
+            for (Cookie cookie : checkpoint.restorableCookies()) {
+                driver.manage().addCookie(cookie);
+            }
+            ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT,
+                checkpoint.getLocalStorage(), checkpoint.getSessionStorage());
+            driver.get(checkpoint.getUrl());
+
+            if (atStep.test(driver)) {
+                step.succeeded();
+                LOG.info("Restored checkpoint '{}' - skipped the steps before it", name);
+                return true;
+            }
+            LOG.warn("Checkpoint '{}' did not restore the expected page - replaying the steps", name);
+        } catch (WebDriverException e) {
+            LOG.warn("Could not restore checkpoint '{}': {}", name, e.getMessage());
+        }
+        CHECKPOINTS.remove(name, checkpoint);
+        return false;
+    }
+
+    private static FlowCheckpoint find(String name) {
+        FlowCheckpoint checkpoint = CHECKPOINTS.computeIfAbsent(name, FlowCheckpoints::load);
+        long maxAge = Duration.ofMinutes(Long.getLong("checkpoints.maxAgeMinutes", 30)).toMillis();
+        if (checkpoint == null || System.currentTimeMillis() - checkpoint.getCapturedEpochMillis() > maxAge) {
+            return null;
+        }
+        // A checkpoint saved against another target (e.g. a stub on a different port) cannot be restored here
+        if (!origin(checkpoint.getUrl()).equals(origin(TestConfig.getBaseUrl()))) {
+            return null;
+        }
+        return checkpoint;
+    }
+
+    private static String origin(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getAuthority();
+    }
+
+    private static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("checkpoints", "true"));
+    }
+
+    private static Path file(String name) {
+        return Paths.get(System.getProperty("checkpoints.dir", "target/checkpoints"),
+            name.replaceAll("[^\\p{L}\\p{N}._-]", "_") + ".json");
+    }
+
+    private static FlowCheckpoint load(String name) {
+        Path file = file(name);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return FlowCheckpoint.fromMap(new Json().toType(
+                new String(Files.readAllBytes(file), StandardCharsets.UTF_8), Json.MAP_TYPE));
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Could not read checkpoint {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void save(FlowCheckpoint checkpoint) {
+        Path file = file(checkpoint.getName());
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, new Json().toJson(checkpoint.toMap()).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LOG.warn("Could not save checkpoint {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.harel.automation.grid;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One Grid the scheduler can send sessions to: its cached /status and the sessions being created on it
+ * that /status does not show yet
+ */
+public class GridEndpoint {
+
+    private final URL url;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private GridStatus status;
+    private long statusReadAtNanos;
+    private String lastError;
+
+    GridEndpoint(URL url) {
+        this.url = url;
+    }
+
+    public URL getUrl() {
+        return url;
+    }
+
+    /**
+     * Status no older than maxAge, read again when it is; empty while the endpoint cannot be reached
+     */
+    synchronized Optional<GridStatus> status(HttpClient client, Duration maxAge, Duration timeout) {
+        if (statusReadAtNanos != 0 && System.nanoTime() - statusReadAtNanos < maxAge.toNanos()) {
+            return Optional.ofNullable(status);
+        }
+        statusReadAtNanos = System.nanoTime();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url.toString().replaceAll("/+$", "") + "/status"))
+            .timeout(timeout)
+            .GET()
+            .build();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            Map<String, Object> json = new Json().toType(response.body(), Json.MAP_TYPE);
+            status = GridStatus.fromJson(json);
+            lastError = null;
+        } catch (IOException | JsonException e) {
+            status = null;
+            lastError = e.getClass().getSimpleName() + (e.getMessage() == null ? "" : ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = null;
+            lastError = "interrupted";
+        }
+        return Optional.ofNullable(status);
+    }
+
+    /**
+     * Forget the cached status, e.g. after a session was started or ended here
+     */
+    synchronized void invalidate() {
+        statusReadAtNanos = 0;
+    }
+
+    synchronized String getLastError() {
+        return lastError;
+    }
+
+    int getPending() {
+        return pending.get();
+    }
+
+    void reserve() {
+        pending.incrementAndGet();
+    }
+
+    void release() {
+        pending.decrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return url.toString();
+    }
+}
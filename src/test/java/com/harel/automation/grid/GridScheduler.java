@@ -0,0 +1,147 @@
+package com.harel.automation.grid;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Sends browser sessions to Selenium Grid instead of starting local browsers. Several endpoints - hubs or
+ * standalone nodes - may be listed; each new session goes to the one with the most free slots for the browser,
+ * read from its /status and reduced by the sessions this JVM is still creating there, so a burst of parallel
+ * scenarios spreads across the Grid instead of queueing on the first endpoint. When every slot is busy the
+ * session still goes to the endpoint with the shortest queue, where Grid holds it until a slot frees up.
+ * Unreachable endpoints are skipped until their status can be read again.
+ * The scheduler does not replace Grid's own distribution across the nodes of one hub; it balances between
+ * endpoints and keeps the pool from requesting more sessions than the Grid has slots.
+ *
+ * Configuration (system properties):
+ * driver.remote.url - comma-separated Grid URLs, e.g. http://localhost:4444 (unset = local browsers)
+ * grid.status.ttl.ms - how long a /status read is reused (default 1000)
+ * grid.status.timeout.ms - timeout of a /status read (default 3000)
+ */
+public final class GridScheduler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GridScheduler.class);
+
+    private static final GridScheduler INSTANCE = new GridScheduler(
+        endpoints(System.getProperty("driver.remote.url", "")),
+        Duration.ofMillis(Long.getLong("grid.status.ttl.ms", 1000)),
+        Duration.ofMillis(Long.getLong("grid.status.timeout.ms", 3000)));
+
+    private final List<GridEndpoint> endpoints;
+    private final Duration statusTtl;
+    private final Duration statusTimeout;
+    private final HttpClient client;
+
+    GridScheduler(List<GridEndpoint> endpoints, Duration statusTtl, Duration statusTimeout) {
+        this.endpoints = endpoints;
+        this.statusTtl = statusTtl;
+        this.statusTimeout = statusTimeout;
+        this.client = HttpClient.newBuilder().connectTimeout(statusTimeout).build();
+    }
+
+    public static GridScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Whether sessions run on Grid (-Ddriver.remote.url is set)
+     */
+    public static boolean isEnabled() {
+        return !INSTANCE.endpoints.isEmpty();
+    }
+
+    public List<GridEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Start a remote session on the endpoint with the most free capacity. The driver is augmented so
+     * DevTools (and with it the network layer) works through Grid as it does locally.
+     */
+    public WebDriver startSession(Capabilities capabilities) {
+        GridEndpoint endpoint = reserve(capabilities.getBrowserName());
+        try {
+            WebDriver driver = new Augmenter().augment(new RemoteWebDriver(endpoint.getUrl(), capabilities));
+            LOG.info("Started {} session on Grid {}", capabilities.getBrowserName(), endpoint);
+            return driver;
+        } finally {
+            // The new session, or the failed attempt, shows in the next /status read
+            endpoint.invalidate();
+            endpoint.release();
+        }
+    }
+
+    /**
+     * Slots across every reachable endpoint, busy or not - how many sessions the Grid can run at once
+     */
+    public int getCapacity(String browserName) {
+        int capacity = 0;
+        for (GridEndpoint endpoint : endpoints) {
+            capacity += endpoint.status(client, statusTtl, statusTimeout).map(s -> s.capacity(browserName)).orElse(0);
+        }
+        return capacity;
+    }
+
+    private synchronized GridEndpoint reserve(String browserName) {
+        GridEndpoint best = null;
+        boolean bestHasSlots = false;
+        int bestFree = Integer.MIN_VALUE;
+        List<String> unreachable = new ArrayList<>();
+        for (GridEndpoint endpoint : endpoints) {
+            Optional<GridStatus> status = endpoint.status(client, statusTtl, statusTimeout);
+            if (status.isEmpty()) {
+                unreachable.add(endpoint + " (" + endpoint.getLastError() + ")");
+                continue;
+            }
+            // A Grid without a matching node yet (still starting up) is only used when no other has one
+            boolean hasSlots = status.get().capacity(browserName) > 0;
+            int free = status.get().freeSlots(browserName) - endpoint.getPending();
+            if (best == null || (hasSlots && !bestHasSlots) || (hasSlots == bestHasSlots && free > bestFree)) {
+                best = endpoint;
+                bestHasSlots = hasSlots;
+                bestFree = free;
+            }
+        }
+        if (best == null) {
+            throw new SessionNotCreatedException("No Grid endpoint is reachable: " + unreachable);
+        }
+        if (!bestHasSlots) {
+            LOG.warn("No {} node is registered with the Grid yet, queueing the session on {}", browserName, best);
+        } else if (bestFree <= 0) {
+            LOG.warn("Every {} slot on the Grid is busy, queueing the session on {}", browserName, best);
+        }
+        best.reserve();
+        return best;
+    }
+
+    private static List<GridEndpoint> endpoints(String urls) {
+        return Arrays.stream(urls.split(","))
+            .map(String::trim)
+            .filter(url -> !url.isEmpty())
+            .map(GridScheduler::endpoint)
+            .collect(Collectors.toUnmodifiableList());
+    }
+
+    private static GridEndpoint endpoint(String url) {
+        try {
+            return new GridEndpoint(new URL(url));
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid driver.remote.url entry: " + url, e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.harel.automation.grid;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Slot counts from one read of a Grid's /status endpoint (hub, router or standalone node)
+ */
+public class GridStatus {
+
+    private final boolean ready;
+    private final List<Map<String, Object>> nodes;
+
+    GridStatus(boolean ready, List<Map<String, Object>> nodes) {
+        this.ready = ready;
+        this.nodes = nodes;
+    }
+
+    @SuppressWarnings("unchecked")
+    static GridStatus fromJson(Map<String, Object> response) {
+        Map<String, Object> value = (Map<String, Object>) response.getOrDefault("value", Map.of());
+        Object nodes = value.get("nodes");
+        return new GridStatus(Boolean.TRUE.equals(value.get("ready")),
+            nodes instanceof List ? (List<Map<String, Object>>) nodes : List.of());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Slots for the browser on nodes that are up
+     */
+    public int capacity(String browserName) {
+        return countSlots(browserName, false);
+    }
+
+    /**
+     * Slots for the browser on nodes that are up and not running a session
+     */
+    public int freeSlots(String browserName) {
+        return countSlots(browserName, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int countSlots(String browserName, boolean freeOnly) {
+        int count = 0;
+        for (Map<String, Object> node : nodes) {
+            if (!"UP".equals(node.get("availability")) || !(node.get("slots") instanceof List)) {
+                continue;
+            }
+            for (Map<String, Object> slot : (List<Map<String, Object>>) node.get("slots")) {
+                Map<String, Object> stereotype = (Map<String, Object>) slot.getOrDefault("stereotype", Map.of());
+                if (browserName.equalsIgnoreCase(String.valueOf(stereotype.get("browserName")))
+                        && (!freeOnly || slot.get("session") == null)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,223 @@
+package com.harel.automation.live;
+
+import com.harel.automation.utils.StepRecord;
+import com.harel.automation.utils.StepTimer;
+import com.harel.automation.utils.StepTimingListener;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Streams the run as it happens - suite start, test start, every closed step, test result, suite end -
+ * to an append-only NDJSON file that other tools can tail, and as Server-Sent Events to a dashboard served
+ * on a local port. When the port cannot be bound the run continues with the file alone.
+ *
+ * Configuration (system properties):
+ * live.results - stream the results (default true)
+ * live.results.file - NDJSON file, appended to across runs (default target/live-results.ndjson)
+ * live.port - dashboard port (default 8765; 0 = any free port; -1 = file only)
+ * live.bind - address the dashboard listens on (default loopback)
+ * live.history - events replayed to a dashboard that connects mid-run (default 10000)
+ */
+public class LiveResultsListener implements ISuiteListener, ITestListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LiveResultsListener.class);
+
+    private final Json json = new Json();
+    private final Consumer<StepRecord> stepListener = this::onStep;
+    private final AtomicInteger passed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    private Writer file;
+    private LiveResultsServer server;
+    private long suiteStartMillis;
+    private boolean started;
+
+    @Override
+    public synchronized void onStart(ISuite suite) {
+        if (started || !Boolean.parseBoolean(System.getProperty("live.results", "true"))) {
+            return;
+        }
+        started = true;
+        suiteStartMillis = System.currentTimeMillis();
+        Path path = Paths.get(System.getProperty("live.results.file", "target/live-results.ndjson"));
+        try {
+            if (path.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+            }
+            file = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            LOG.warn("Could not open live results file {}: {}", path, e.getMessage());
+        }
+        startServer();
+        StepTimer.addListener(stepListener);
+
+        Map<String, Object> event = event("suite-start");
+        event.put("suite", suite.getName());
+        event.put("file", path.toAbsolutePath().toString());
+        event.put("dashboard", server == null ? null : server.getUrl());
+        publish(event);
+    }
+
+    private void startServer() {
+        int port = Integer.getInteger("live.port", 8765);
+        if (port < 0) {
+            return;
+        }
+        try {
+            String bind = System.getProperty("live.bind");
+            InetAddress address = bind == null ? InetAddress.getLoopbackAddress() : InetAddress.getByName(bind);
+            server = LiveResultsServer.start(address, port, Integer.getInteger("live.history", 10000));
+            LOG.info("Live results at {}", server.getUrl());
+        } catch (IOException e) {
+            LOG.warn("Could not start the live results dashboard on port {} ({}), streaming to the file only",
+                port, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        Map<String, Object> event = event("test-start");
+        event.put("testId", StepTimingListener.testId(result));
+        event.put("thread", Thread.currentThread().getName());
+        publish(event);
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        passed.incrementAndGet();
+        testEnd(result, "PASS");
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        failed.incrementAndGet();
+        testEnd(result, "FAIL");
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        onTestFailure(result);
+    }
+
+    @Override
+    public void onTestFailedWithTimeout(ITestResult result) {
+        onTestFailure(result);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        skipped.incrementAndGet();
+        testEnd(result, "SKIP");
+    }
+
+    private void onStep(StepRecord record) {
+        Map<String, Object> event = event("step");
+        event.put("testId", record.getTestId());
+        event.put("thread", record.getThread());
+        event.put("step", record.getStep());
+        event.put("durationMs", Math.round(record.getWallMillis()));
+        event.put("commands", record.getCommands());
+        event.put("waitMs", Math.round(record.getWaitMillis()));
+        event.put("sleepMs", Math.round(record.getSleepMillis()));
+        event.put("passed", record.isPassed());
+        publish(event);
+    }
+
+    private void testEnd(ITestResult result, String status) {
+        Map<String, Object> event = event("test-end");
+        event.put("testId", StepTimingListener.testId(result));
+        event.put("thread", Thread.currentThread().getName());
+        event.put("status", status);
+        // Tests skipped before they ran have no start time
+        event.put("durationMs", result.getStartMillis() == 0 ? 0 : result.getEndMillis() - result.getStartMillis());
+        Throwable error = result.getThrowable();
+        if (error != null) {
+            event.put("error", error.getClass().getSimpleName()
+                + (error.getMessage() == null ? "" : ": " + error.getMessage().split("\n")[0]));
+        }
+        publish(event);
+    }
+
+    @Override
+    public synchronized void onFinish(ISuite suite) {
+        if (!started) {
+            return;
+        }
+        StepTimer.removeListener(stepListener);
+        Map<String, Object> event = event("suite-end");
+        event.put("suite", suite.getName());
+        event.put("passed", passed.get());
+        event.put("failed", failed.get());
+        event.put("skipped", skipped.get());
+        event.put("durationMs", System.currentTimeMillis() - suiteStartMillis);
+        publish(event);
+        started = false;
+
+        if (server != null) {
+            server.stop();
+            server = null;
+        }
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                LOG.warn("Could not close live results file: {}", e.getMessage());
+            }
+            file = null;
+        }
+    }
+
+    private static Map<String, Object> event(String type) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("type", type);
+        event.put("time", System.currentTimeMillis());
+        return event;
+    }
+
+    /**
+     * One line per event, flushed at once so tailing tools see it while the test is still running
+     */
+    private synchronized void publish(Map<String, Object> event) {
+        if (!started) {
+            return;
+        }
+        StringBuilder line = new StringBuilder();
+        try (JsonOutput out = json.newOutput(line)) {
+            out.setPrettyPrint(false).write(event);
+        }
+        if (file != null) {
+            try {
+                file.write(line.toString());
+                file.write('\n');
+                file.flush();
+            } catch (IOException e) {
+                LOG.warn("Could not write live results, stopping the file: {}", e.getMessage());
+                file = null;
+            }
+        }
+        if (server != null) {
+            server.publish(line.toString());
+        }
+    }
+}
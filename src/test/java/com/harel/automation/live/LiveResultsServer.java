@@ -0,0 +1,172 @@
+package com.harel.automation.live;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Embedded HTTP server streaming the live results as Server-Sent Events on /events, with the dashboard on /.
+ * The most recent events are kept, so a dashboard opened mid-run - or reconnecting with Last-Event-ID -
+ * catches up before it receives new events. Each connection is served by its own thread from a queue,
+ * so a slow browser never holds up the tests; one that falls too far behind is disconnected.
+ */
+public class LiveResultsServer {
+
+    private static final String END = "";
+    // Events a connected dashboard may fall behind by before it is dropped
+    private static final int CLIENT_QUEUE_SIZE = 10000;
+    private static final long KEEP_ALIVE_SECONDS = 15;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final int historySize;
+    private final Deque<Frame> history = new ArrayDeque<>();
+    private final List<BlockingQueue<String>> clients = new CopyOnWriteArrayList<>();
+    private long lastId;
+
+    private LiveResultsServer(HttpServer server, int historySize) {
+        this.server = server;
+        this.historySize = historySize;
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "live-results");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/events", this::stream);
+        server.createContext("/", this::dashboard);
+    }
+
+    /**
+     * Listen on the address and port (0 = any free port)
+     */
+    public static LiveResultsServer start(InetAddress address, int port, int historySize) throws IOException {
+        LiveResultsServer live = new LiveResultsServer(HttpServer.create(new InetSocketAddress(address, port), 0),
+            historySize);
+        live.server.start();
+        return live;
+    }
+
+    public String getUrl() {
+        InetSocketAddress address = server.getAddress();
+        String host = address.getAddress().isAnyLocalAddress() ? "localhost" : address.getHostString();
+        return "http://" + host + ":" + address.getPort() + "/";
+    }
+
+    /**
+     * Send one JSON event to every connected dashboard
+     */
+    public synchronized void publish(String json) {
+        Frame frame = new Frame(++lastId, json);
+        history.addLast(frame);
+        if (history.size() > historySize) {
+            history.removeFirst();
+        }
+        for (BlockingQueue<String> client : clients) {
+            if (!client.offer(frame.text)) {
+                clients.remove(client);
+                client.clear();
+                client.offer(END);
+            }
+        }
+    }
+
+    /**
+     * End every stream and stop listening
+     */
+    public void stop() {
+        for (BlockingQueue<String> client : clients) {
+            client.offer(END);
+        }
+        server.stop(1);
+        executor.shutdownNow();
+    }
+
+    private void stream(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        // Room for the whole history plus what arrives while the browser catches up
+        BlockingQueue<String> client = new ArrayBlockingQueue<>(historySize + CLIENT_QUEUE_SIZE);
+        long resumeAfter = lastEventId(exchange);
+        synchronized (this) {
+            history.stream()
+                .filter(frame -> frame.id > resumeAfter)
+                .forEach(frame -> client.offer(frame.text));
+            clients.add(client);
+        }
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write("retry: 2000\n\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            while (true) {
+                String frame = client.poll(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+                if (END.equals(frame)) {
+                    return;
+                }
+                // A comment line keeps proxies from closing an idle stream and notices a closed page
+                out.write((frame == null ? ": keep-alive\n\n" : frame).getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Dashboard closed
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            clients.remove(client);
+        }
+    }
+
+    private void dashboard(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        byte[] body;
+        try (InputStream in = LiveResultsServer.class.getResourceAsStream("/live/dashboard.html")) {
+            body = in == null || !path.equals("/") ? null : in.readAllBytes();
+        }
+        if (body == null) {
+            body = "Not found".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain");
+            exchange.sendResponseHeaders(404, body.length);
+        } else {
+            exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+        }
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static long lastEventId(HttpExchange exchange) {
+        String id = exchange.getRequestHeaders().getFirst("Last-Event-ID");
+        try {
+            return id == null ? 0 : Long.parseLong(id.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static final class Frame {
+
+        private final long id;
+        private final String text;
+
+        Frame(long id, String json) {
+            this.id = id;
+            this.text = "id: " + id + "\ndata: " + json + "\n\n";
+        }
+    }
+}
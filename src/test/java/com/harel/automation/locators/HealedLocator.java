@@ -0,0 +1,66 @@
+package com.harel.automation.locators;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A locator whose ranked strategies all failed and that was recovered from its fingerprint
+ */
+public class HealedLocator {
+
+    private final String testId;
+    private final String step;
+    private final String key;
+    private final String failedStrategies;
+    private final String suggestedCss;
+    private final double score;
+    private final int matches;
+    private final double healMillis;
+
+    HealedLocator(String testId, String step, String key, String failedStrategies, String suggestedCss,
+                  double score, int matches, double healMillis) {
+        this.testId = testId;
+        this.step = step;
+        this.key = key;
+        this.failedStrategies = failedStrategies;
+        this.suggestedCss = suggestedCss;
+        this.score = score;
+        this.matches = matches;
+        this.healMillis = healMillis;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Selector for the healed element - a candidate for a new strategy in locators.properties
+     */
+    public String getSuggestedCss() {
+        return suggestedCss;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("testId", testId);
+        map.put("step", step);
+        map.put("key", key);
+        map.put("failedStrategies", failedStrategies);
+        map.put("suggestedCss", suggestedCss);
+        map.put("score", score);
+        map.put("matches", matches);
+        map.put("healMillis", healMillis);
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s -> %s (score %.2f, %d match(es), %.1f ms)",
+            key, suggestedCss, score, matches, healMillis);
+    }
+}
@@ -0,0 +1,223 @@
+package com.harel.automation.locators;
+
+import com.harel.automation.utils.StepTimer;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Self-healing for registered locators.
+ * After an element is found, a fingerprint of it (tag, attributes, text, position, DOM path) is stored.
+ * When every ranked strategy fails, one in-browser script scores the page's elements against the
+ * fingerprint and returns the best match - milliseconds instead of waiting out a timeout.
+ * Parameterized locators are not healed, their text changes with the arguments.
+ *
+ * Configuration (system properties):
+ * locators.healing - enable healing (default true)
+ * locators.healing.threshold - minimum similarity 0..1 for a healed match (default 0.6)
+ * locators.fingerprints.file - fingerprint store, one per target
+ *   (default ~/.cache/harel-automation/locators/<target>/locator-fingerprints.json)
+ */
+public final class LocatorHealer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LocatorHealer.class);
+
+    // arguments: element, whether the locator matched several elements. Hidden elements are not fingerprinted
+    private static final String FINGERPRINT_SCRIPT =
+        "var el = arguments[0];" +
+        "var rect = el.getBoundingClientRect();" +
+        "if (rect.width === 0 && rect.height === 0) { return null; }" +
+        "var path = [];" +
+        "for (var n = el; n && n.nodeType === 1 && n !== document.body; n = n.parentElement) {" +
+        "  var index = 1;" +
+        "  for (var s = n.previousElementSibling; s; s = s.previousElementSibling) { if (s.tagName === n.tagName) { index++; } }" +
+        "  path.unshift(n.tagName.toLowerCase() + ':' + index);" +
+        "}" +
+        "return {tag: el.tagName.toLowerCase(), id: el.id || ''," +
+        "  name: el.getAttribute('name') || '', type: el.getAttribute('type') || ''," +
+        "  role: el.getAttribute('role') || '', ariaLabel: el.getAttribute('aria-label') || ''," +
+        "  classes: (el.getAttribute('class') || '').split(/\\s+/).filter(function (c) { return c; })," +
+        "  text: (el.innerText || el.value || '').trim().replace(/\\s+/g, ' ').substring(0, 120)," +
+        "  path: path, x: Math.round(rect.left + window.scrollX), y: Math.round(rect.top + window.scrollY)," +
+        "  width: Math.round(rect.width), height: Math.round(rect.height), multiple: arguments[1]};";
+
+    // arguments: fingerprint, threshold. Returns [score, rows, healed element description] or null
+    private static final String HEALING_SCRIPT =
+        "var fp = arguments[0], threshold = arguments[1];" +
+        "if (document.readyState !== 'complete') { return null; }" +
+        "function isVisible(el) {" +
+        "  if (el.checkVisibility) { return el.checkVisibility({checkOpacity: true, checkVisibilityCSS: true}); }" +
+        "  var rect = el.getBoundingClientRect(), style = getComputedStyle(el);" +
+        "  return rect.width > 0 && rect.height > 0 && style.visibility !== 'hidden' && style.opacity !== '0';" +
+        "}" +
+        "function normalize(text) { return (text || '').trim().replace(/\\s+/g, ' '); }" +
+        "function overlap(a, b) {" +
+        "  if (!a.length && !b.length) { return 1; }" +
+        "  var seen = {}, shared = 0, union = a.length;" +
+        "  a.forEach(function (x) { seen[x] = true; });" +
+        "  b.forEach(function (x) { if (seen[x]) { shared++; } else { union++; } });" +
+        "  return shared / union;" +
+        "}" +
+        "function textScore(a, b) {" +
+        "  if (!a && !b) { return 1; }" +
+        "  if (!a || !b) { return 0; }" +
+        "  if (a === b) { return 1; }" +
+        "  if (a.indexOf(b) >= 0 || b.indexOf(a) >= 0) { return 0.8; }" +
+        "  return overlap(a.split(' '), b.split(' '));" +
+        "}" +
+        "function pathOf(el) {" +
+        "  var tags = [];" +
+        "  for (var n = el; n && n.nodeType === 1 && n !== document.body; n = n.parentElement) { tags.unshift(n.tagName.toLowerCase()); }" +
+        "  return tags;" +
+        "}" +
+        "var fpPath = fp.path.map(function (p) { return p.split(':')[0]; });" +
+        "function pathScore(tags) {" +
+        "  var same = 0;" +
+        "  while (same < tags.length && same < fpPath.length" +
+        "      && tags[tags.length - 1 - same] === fpPath[fpPath.length - 1 - same]) { same++; }" +
+        "  return same / Math.max(tags.length, fpPath.length);" +
+        "}" +
+        "var diagonal = Math.sqrt(window.innerWidth * window.innerWidth + window.innerHeight * window.innerHeight);" +
+        "function score(el) {" +
+        "  var total = 0, weight = 0;" +
+        "  function add(w, s) { total += w * s; weight += w; }" +
+        "  if (fp.id) { add(2, el.id === fp.id ? 1 : 0); }" +
+        "  if (fp.name) { add(1, el.getAttribute('name') === fp.name ? 1 : 0); }" +
+        "  add(2, overlap(fp.classes, (el.getAttribute('class') || '').split(/\\s+/).filter(function (c) { return c; })));" +
+        "  var text = normalize(el.innerText || el.value).substring(0, 120);" +
+        "  var textMatch = textScore(fp.text, text);" +
+        "  if (!fp.multiple) { add(3, textMatch); }" +
+        "  add(1, overlap([fp.role, fp.ariaLabel, fp.type].filter(function (v) { return v; })," +
+        "    [el.getAttribute('role'), el.getAttribute('aria-label'), el.getAttribute('type')].filter(function (v) { return v; })));" +
+        "  add(1.5, pathScore(pathOf(el)));" +
+        "  var rect = el.getBoundingClientRect();" +
+        "  var dx = rect.left + window.scrollX - fp.x, dy = rect.top + window.scrollY - fp.y;" +
+        "  add(1, Math.max(0, 1 - 2 * Math.sqrt(dx * dx + dy * dy) / diagonal));" +
+        "  return {el: el, score: total / weight, text: text, textMatch: textMatch};" +
+        "}" +
+        "var scored = Array.prototype.slice.call(document.getElementsByTagName(fp.tag))" +
+        "  .filter(isVisible).map(score)" +
+        "  .filter(function (s) { return s.score >= threshold && (fp.multiple || !fp.text || s.textMatch >= 0.5); })" +
+        "  .sort(function (a, b) { return b.score - a.score; });" +
+        "if (scored.length === 0) { return null; }" +
+        "var matches = fp.multiple ? scored : scored.slice(0, 1);" +
+        "var best = scored[0].el;" +
+        "var css = best.id && document.querySelectorAll('#' + CSS.escape(best.id)).length === 1" +
+        "  ? '#' + CSS.escape(best.id)" +
+        "  : best.tagName.toLowerCase() + Array.prototype.map.call(best.classList, function (c) { return '.' + CSS.escape(c); }).join('');" +
+        "return [scored[0].score, matches.map(function (s) {" +
+        "  var enabled = !s.el.disabled && s.el.getAttribute('aria-disabled') !== 'true';" +
+        "  return [s.el, true, enabled, s.text, s.el.getAttribute('class') || ''];" +
+        "}), css];";
+
+    private final Map<String, Map<String, Object>> fingerprints = new ConcurrentHashMap<>();
+    private final Set<String> capturedThisRun = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedQueue<HealedLocator> healed = new ConcurrentLinkedQueue<>();
+    private final Path store;
+    private final boolean enabled;
+    private final double threshold;
+
+    @SuppressWarnings("unchecked")
+    LocatorHealer(Path store, boolean enabled, double threshold) {
+        this.store = store;
+        this.enabled = enabled;
+        this.threshold = threshold;
+        if (Files.exists(store)) {
+            try {
+                Map<String, Object> saved = new Json().toType(
+                    new String(Files.readAllBytes(store), StandardCharsets.UTF_8), Json.MAP_TYPE);
+                saved.forEach((key, value) -> fingerprints.put(key, (Map<String, Object>) value));
+            } catch (IOException | RuntimeException e) {
+                LOG.warn("Could not read locator fingerprints {}: {}", store, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Store a fresh fingerprint of the element the locator found - once per locator per run
+     */
+    @SuppressWarnings("unchecked")
+    void capture(JavascriptExecutor js, RegisteredLocator locator, WebElement element, int matches) {
+        if (!enabled || locator.isParameterized() || !capturedThisRun.add(locator.getKey())) {
+            return;
+        }
+        try {
+            Object fingerprint = js.executeScript(FINGERPRINT_SCRIPT, element, matches > 1);
+            if (fingerprint instanceof Map) {
+                fingerprints.put(locator.getKey(), (Map<String, Object>) fingerprint);
+                save();
+            } else {
+                capturedThisRun.remove(locator.getKey());
+            }
+        } catch (WebDriverException e) {
+            capturedThisRun.remove(locator.getKey());
+        }
+    }
+
+    /**
+     * Score the page against the locator's fingerprint.
+     * Returns rows of [element, visible, enabled, text, class] for the healed match, or an empty list.
+     */
+    @SuppressWarnings("unchecked")
+    List<List<Object>> heal(JavascriptExecutor js, RegisteredLocator locator) {
+        Map<String, Object> fingerprint = fingerprints.get(locator.getKey());
+        if (!enabled || locator.isParameterized() || fingerprint == null) {
+            return Collections.emptyList();
+        }
+        long started = System.nanoTime();
+        Object result;
+        try {
+            result = js.executeScript(HEALING_SCRIPT, fingerprint, threshold);
+        } catch (WebDriverException e) {
+            return Collections.emptyList();
+        }
+        if (!(result instanceof List)) {
+            return Collections.emptyList();
+        }
+        List<Object> match = (List<Object>) result;
+        List<List<Object>> rows = new ArrayList<>();
+        for (Object row : (List<Object>) match.get(1)) {
+            rows.add((List<Object>) row);
+        }
+        HealedLocator report = new HealedLocator(StepTimer.currentTestId(), StepTimer.currentStepPath(),
+            locator.getKey(), locator.candidates().toString(), (String) match.get(2),
+            ((Number) match.get(0)).doubleValue(), rows.size(), (System.nanoTime() - started) / 1_000_000.0);
+        healed.add(report);
+        LOG.warn("Healed locator {}", report);
+        return rows;
+    }
+
+    List<HealedLocator> getHealed() {
+        return new ArrayList<>(healed);
+    }
+
+    private synchronized void save() {
+        try {
+            if (store.getParent() != null) {
+                Files.createDirectories(store.getParent());
+            }
+            Path temp = Files.createTempFile(store.toAbsolutePath().getParent(), "locator-fingerprints", ".tmp");
+            Files.write(temp, new Json().toJson(new TreeMap<>(fingerprints)).getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, store, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Could not save locator fingerprints {}: {}", store, e.getMessage());
+        }
+    }
+}
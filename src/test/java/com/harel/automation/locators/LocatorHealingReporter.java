@@ -0,0 +1,46 @@
+package com.harel.automation.locators;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Lists the locators that had to be healed during the suite, with a suggested selector for each,
+ * so locators.properties can be updated before the fingerprints drift too far.
+ *
+ * Configuration (system properties):
+ * locators.healing.report.dir - output directory (default target/surefire-reports/locator-healing)
+ */
+public class LocatorHealingReporter implements ISuiteListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LocatorHealingReporter.class);
+
+    @Override
+    public void onFinish(ISuite suite) {
+        List<HealedLocator> healed = LocatorRegistry.getInstance().getHealedLocators();
+        if (healed.isEmpty()) {
+            return;
+        }
+        LOG.warn("{} locator lookup(s) were healed - update locators.properties:", healed.size());
+        healed.stream().map(HealedLocator::toString).distinct().forEach(h -> LOG.warn("  {}", h));
+
+        Path dir = Paths.get(System.getProperty("locators.healing.report.dir", "target/surefire-reports/locator-healing"));
+        try {
+            Files.createDirectories(dir);
+            String json = new Json().toJson(healed.stream().map(HealedLocator::toMap).collect(Collectors.toList()));
+            Files.write(dir.resolve("healed-locators.json"), json.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LOG.warn("Could not write locator healing report: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.harel.automation.locators;
+
+import com.harel.automation.utils.TestConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Central registry of page locators, loaded from locators.properties.
+ * Every logical element has ranked strategies; the registry remembers which strategy last
+ * found each element and persists that choice, so later runs go straight to it.
+ * The choice is kept per target (see TestConfig.getTargetKey()) - what works on the stub says nothing about the live site.
+ *
+ * Configuration (system properties):
+ * locators.file - external locator file to use instead of the one on the test classpath
+ * locators.state.file - where remembered strategies are kept
+ *   (default ~/.cache/harel-automation/locators/<target>/locator-state.properties)
+ * Healing has its own settings, see LocatorHealer.
+ */
+public final class LocatorRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LocatorRegistry.class);
+
+    private static final String DEFAULT_RESOURCE = "/locators.properties";
+
+    private static final Path STATE_DIR = Paths.get(System.getProperty("user.home"), ".cache", "harel-automation",
+        "locators", TestConfig.getTargetKey());
+
+    private static final LocatorRegistry INSTANCE = new LocatorRegistry(
+        loadDefinitions(),
+        Paths.get(System.getProperty("locators.state.file", STATE_DIR.resolve("locator-state.properties").toString())),
+        new LocatorHealer(
+            Paths.get(System.getProperty("locators.fingerprints.file", STATE_DIR.resolve("locator-fingerprints.json").toString())),
+            Boolean.parseBoolean(System.getProperty("locators.healing", "true")),
+            Double.parseDouble(System.getProperty("locators.healing.threshold", "0.6"))));
+
+    private final Map<String, List<LocatorStrategy>> definitions;
+    private final Map<String, RegisteredLocator> compiled = new ConcurrentHashMap<>();
+    private final Map<String, String> preferred = new ConcurrentHashMap<>();
+    private final Path stateFile;
+    private final LocatorHealer healer;
+
+    LocatorRegistry(Map<String, List<LocatorStrategy>> definitions, Path stateFile, LocatorHealer healer) {
+        this.definitions = definitions;
+        this.stateFile = stateFile;
+        this.healer = healer;
+        loadState();
+    }
+
+    public static LocatorRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Locator for the logical element, with any {n} placeholders filled from args.
+     * Compiled once per key and argument list.
+     */
+    public RegisteredLocator get(String key, Object... args) {
+        String cacheKey = args.length == 0 ? key : key + Arrays.toString(args);
+        return compiled.computeIfAbsent(cacheKey, k -> {
+            List<LocatorStrategy> strategies = definitions.get(key);
+            if (strategies == null) {
+                throw new IllegalArgumentException("No locator registered for '" + key + "'");
+            }
+            return new RegisteredLocator(this, key, args.clone(), strategies);
+        });
+    }
+
+    /**
+     * Locators recovered by self-healing so far in this JVM
+     */
+    public List<HealedLocator> getHealedLocators() {
+        return healer.getHealed();
+    }
+
+    LocatorHealer healer() {
+        return healer;
+    }
+
+    String preferredSpec(String key) {
+        return preferred.get(key);
+    }
+
+    void remember(String key, LocatorStrategy strategy) {
+        String previous = preferred.put(key, strategy.getSpec());
+        if (!strategy.getSpec().equals(previous)) {
+            saveState();
+        }
+    }
+
+    private void loadState() {
+        if (!Files.exists(stateFile)) {
+            return;
+        }
+        Properties state = new Properties();
+        try (Reader reader = Files.newBufferedReader(stateFile, StandardCharsets.UTF_8)) {
+            state.load(reader);
+        } catch (IOException e) {
+            LOG.warn("Could not read locator state {}: {}", stateFile, e.getMessage());
+            return;
+        }
+        for (String key : state.stringPropertyNames()) {
+            if (definitions.containsKey(key)) {
+                preferred.put(key, state.getProperty(key));
+            }
+        }
+    }
+
+    private synchronized void saveState() {
+        Properties state = new Properties();
+        state.putAll(preferred);
+        try {
+            if (stateFile.getParent() != null) {
+                Files.createDirectories(stateFile.getParent());
+            }
+            Path temp = Files.createTempFile(stateFile.toAbsolutePath().getParent(), "locator-state", ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                state.store(writer, "Last successful strategy per locator - delete to reset");
+            }
+            Files.move(temp, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Could not save locator state {}: {}", stateFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Parse "page.element.rank=type:value" entries into ranked strategy lists per element
+     */
+    static Map<String, List<LocatorStrategy>> parse(Properties properties) {
+        Map<String, List<LocatorStrategy>> definitions = new TreeMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            int dot = name.lastIndexOf('.');
+            int rank;
+            try {
+                rank = Integer.parseInt(name.substring(dot + 1));
+            } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Locator entry must end with a numeric rank: " + name);
+            }
+            definitions.computeIfAbsent(name.substring(0, dot), k -> new ArrayList<>())
+                .add(new LocatorStrategy(rank, properties.getProperty(name)));
+        }
+        definitions.values().forEach(list -> list.sort(Comparator.comparingInt(LocatorStrategy::getRank)));
+        return definitions;
+    }
+
+    private static Map<String, List<LocatorStrategy>> loadDefinitions() {
+        Properties properties = new Properties();
+        String external = System.getProperty("locators.file");
+        try (InputStream in = external != null
+                ? Files.newInputStream(Paths.get(external))
+                : LocatorRegistry.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Locator file " + DEFAULT_RESOURCE + " not found on the classpath");
+            }
+            properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load locators from " + (external != null ? external : DEFAULT_RESOURCE), e);
+        }
+        return parse(properties);
+    }
+}
@@ -0,0 +1,70 @@
+package com.harel.automation.locators;
+
+import org.openqa.selenium.By;
+
+import java.util.Locale;
+
+/**
+ * One ranked way of finding a logical element, written "type:value" in locators.properties.
+ * The value may contain {0}, {1}... placeholders that are filled in when the locator is requested.
+ */
+public final class LocatorStrategy {
+
+    private final int rank;
+    private final String type;
+    private final String template;
+
+    LocatorStrategy(int rank, String spec) {
+        int separator = spec.indexOf(':');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Locator must be written type:value - " + spec);
+        }
+        this.rank = rank;
+        this.type = spec.substring(0, separator).trim().toLowerCase(Locale.ROOT);
+        this.template = spec.substring(separator + 1).trim();
+        toBy(template);
+    }
+
+    int getRank() {
+        return rank;
+    }
+
+    /**
+     * The strategy as written in the locator file - also its identity in the remembered-strategy state
+     */
+    public String getSpec() {
+        return type + ":" + template;
+    }
+
+    By resolve(Object... args) {
+        String value = template;
+        for (int i = 0; i < args.length; i++) {
+            value = value.replace("{" + i + "}", String.valueOf(args[i]));
+        }
+        return toBy(value);
+    }
+
+    private By toBy(String value) {
+        switch (type) {
+            case "id":
+                return By.id(value);
+            case "css":
+                return By.cssSelector(value);
+            case "name":
+                return By.name(value);
+            case "class":
+                return By.className(value);
+            case "tag":
+                return By.tagName(value);
+            case "xpath":
+                return By.xpath(value);
+            default:
+                throw new IllegalArgumentException("Unsupported locator type '" + type + "' - use id, css, name, class, tag or xpath");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getSpec();
+    }
+}
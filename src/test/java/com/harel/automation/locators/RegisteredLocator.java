@@ -0,0 +1,128 @@
+package com.harel.automation.locators;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A logical element from the LocatorRegistry.
+ * Behaves like any other By - so it works with waits and ExpectedConditions - but tries its
+ * ranked strategies in turn, starting with the one that matched last time.
+ * Lookups never heal: a wait polling for the element or a check that it is absent must see a miss as a miss.
+ * Action sites heal explicitly, once their wait has timed out - see BasePage.
+ */
+public class RegisteredLocator extends By {
+
+    private final LocatorRegistry registry;
+    private final String key;
+    private final Object[] args;
+    private final List<LocatorStrategy> strategies;
+    private final List<By> resolved;
+
+    RegisteredLocator(LocatorRegistry registry, String key, Object[] args, List<LocatorStrategy> strategies) {
+        this.registry = registry;
+        this.key = key;
+        this.args = args;
+        this.strategies = strategies;
+        this.resolved = new ArrayList<>();
+        for (LocatorStrategy strategy : strategies) {
+            resolved.add(strategy.resolve(args));
+        }
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public boolean isParameterized() {
+        return args.length > 0;
+    }
+
+    /**
+     * Strategies in the order they should be tried: the remembered one first, then by rank
+     */
+    public List<By> candidates() {
+        int preferred = preferredIndex();
+        if (preferred <= 0) {
+            return Collections.unmodifiableList(resolved);
+        }
+        List<By> ordered = new ArrayList<>(resolved.size());
+        ordered.add(resolved.get(preferred));
+        for (int i = 0; i < resolved.size(); i++) {
+            if (i != preferred) {
+                ordered.add(resolved.get(i));
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * Remember that this candidate found the element
+     */
+    public void recordMatch(By candidate) {
+        int index = resolved.indexOf(candidate);
+        if (index >= 0) {
+            registry.remember(key, strategies.get(index));
+        }
+    }
+
+    /**
+     * Fingerprint the element this locator found, for healing it in later runs
+     */
+    public void fingerprint(JavascriptExecutor js, WebElement element, int matches) {
+        registry.healer().capture(js, this, element, matches);
+    }
+
+    /**
+     * Find the element from its fingerprint after every strategy failed.
+     * Returns rows of [element, visible, enabled, text, class], or an empty list when nothing is similar enough.
+     */
+    public List<List<Object>> heal(JavascriptExecutor js) {
+        return registry.healer().heal(js, this);
+    }
+
+    @Override
+    public List<WebElement> findElements(SearchContext context) {
+        for (By candidate : candidates()) {
+            List<WebElement> found;
+            try {
+                found = candidate.findElements(context);
+            } catch (InvalidSelectorException e) {
+                continue;
+            }
+            if (!found.isEmpty()) {
+                recordMatch(candidate);
+                if (context instanceof JavascriptExecutor) {
+                    fingerprint((JavascriptExecutor) context, found.get(0), found.size());
+                }
+                return found;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private int preferredIndex() {
+        String spec = registry.preferredSpec(key);
+        if (spec == null) {
+            return -1;
+        }
+        for (int i = 0; i < strategies.size(); i++) {
+            if (strategies.get(i).getSpec().equals(spec)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "By.registered: " + key + (args.length == 0 ? "" : Arrays.toString(args));
+    }
+}
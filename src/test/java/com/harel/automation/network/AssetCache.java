@@ -0,0 +1,155 @@
+package com.harel.automation.network;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * On-disk cache of static asset responses, shared by every browser session and kept across runs.
+ * Each entry is a body file plus a JSON file with the URL, status and headers; the JSON is written last,
+ * so a half-written entry is never served.
+ *
+ * Configuration (system properties):
+ * network.cache.dir - cache directory (default ~/.cache/harel-automation/assets)
+ * network.cache.maxAgeHours - entries older than this are fetched again (default 24)
+ */
+public class AssetCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AssetCache.class);
+
+    // The body handed to us is already decoded, and the browser recomputes framing headers itself
+    private static final Set<String> DROPPED_HEADERS =
+        Set.of("content-encoding", "content-length", "transfer-encoding", "connection", "set-cookie");
+
+    private final Path dir;
+    private final long maxAgeMillis;
+
+    public AssetCache(Path dir, Duration maxAge) {
+        this.dir = dir;
+        this.maxAgeMillis = maxAge.toMillis();
+    }
+
+    public static AssetCache fromSystemProperties() {
+        Path defaultDir = Paths.get(System.getProperty("user.home"), ".cache", "harel-automation", "assets");
+        return new AssetCache(Paths.get(System.getProperty("network.cache.dir", defaultDir.toString())),
+            Duration.ofHours(Long.getLong("network.cache.maxAgeHours", 24)));
+    }
+
+    /**
+     * The cached response for the URL, or null when it is not cached or has expired
+     */
+    @SuppressWarnings("unchecked")
+    public CachedAsset get(String url) {
+        String key = key(url);
+        try {
+            Path meta = dir.resolve(key + ".json");
+            Map<String, Object> entry = new Json().toType(
+                new String(Files.readAllBytes(meta), StandardCharsets.UTF_8), Json.MAP_TYPE);
+            long stored = ((Number) entry.get("storedEpochMillis")).longValue();
+            if (!url.equals(entry.get("url")) || System.currentTimeMillis() - stored > maxAgeMillis) {
+                return null;
+            }
+            byte[] body = Files.readAllBytes(dir.resolve(key + ".body"));
+            return new CachedAsset(((Number) entry.get("status")).intValue(), (Map<String, Object>) entry.get("headers"), body);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Ignoring unreadable asset cache entry for {}: {}", url, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Store a successful response; responses the server marks no-store are skipped
+     */
+    public void put(String url, HttpResponse response, byte[] body) {
+        String cacheControl = response.getHeader("Cache-Control");
+        if (response.getStatus() != 200 || body.length == 0
+                || (cacheControl != null && cacheControl.toLowerCase(Locale.ROOT).contains("no-store"))) {
+            return;
+        }
+        Map<String, Object> headers = new LinkedHashMap<>();
+        response.forEachHeader((name, value) -> {
+            if (!DROPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, value);
+            }
+        });
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("url", url);
+        entry.put("status", response.getStatus());
+        entry.put("headers", headers);
+        entry.put("storedEpochMillis", System.currentTimeMillis());
+
+        String key = key(url);
+        try {
+            Files.createDirectories(dir);
+            write(dir.resolve(key + ".body"), body);
+            write(dir.resolve(key + ".json"), new Json().toJson(entry).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LOG.warn("Could not cache {}: {}", url, e.getMessage());
+        }
+    }
+
+    private void write(Path file, byte[] content) throws IOException {
+        Path temp = Files.createTempFile(dir, "asset", ".tmp");
+        Files.write(temp, content);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String key(String url) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 16; i++) {
+                hex.append(String.format("%02x", hash[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A response read back from the cache
+     */
+    public static final class CachedAsset {
+
+        private final int status;
+        private final Map<String, Object> headers;
+        private final byte[] body;
+
+        CachedAsset(int status, Map<String, Object> headers, byte[] body) {
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        public int size() {
+            return body.length;
+        }
+
+        public HttpResponse toResponse() {
+            HttpResponse response = new HttpResponse().setStatus(status);
+            headers.forEach((name, value) -> response.addHeader(name, String.valueOf(value)));
+            response.setContent(Contents.bytes(body));
+            return response;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.harel.automation.network;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Recorded HTTP exchanges of the wizard, for deterministic runs without the network.
+ * The archive is gzipped JSON lines - one exchange per line with the response body in base64.
+ * Exchanges are matched on method, URL (minus cache-busting parameters) and request body;
+ * when no body matches, the first exchange for the same method and URL is used.
+ * Requests with no recorded exchange are remembered as misses and reported at the end of the suite.
+ *
+ * Configuration (system properties):
+ * http.archive - archive file (default recordings/http-archive.ndjson.gz)
+ * http.archive.ignoreParams - query parameters left out of the match (default _,t,ts,cb,timestamp)
+ */
+public final class HttpArchive {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpArchive.class);
+
+    // Framing headers are recomputed by the browser for the decoded body we hand back
+    private static final Set<String> DROPPED_HEADERS =
+        Set.of("content-encoding", "content-length", "transfer-encoding", "connection");
+
+    private static HttpArchive instance;
+
+    private final Path file;
+    private final Set<String> ignoredParams;
+    private final Map<String, Exchange> exchanges = new LinkedHashMap<>();
+    private final Set<String> misses = new ConcurrentSkipListSet<>();
+
+    HttpArchive(Path file, Set<String> ignoredParams) {
+        this.file = file;
+        this.ignoredParams = ignoredParams;
+    }
+
+    /**
+     * The archive for this run - loaded from disk when replaying, saved on exit when recording
+     */
+    public static synchronized HttpArchive getInstance() {
+        if (instance == null) {
+            instance = new HttpArchive(Paths.get(System.getProperty("http.archive", "recordings/http-archive.ndjson.gz")),
+                Arrays.stream(System.getProperty("http.archive.ignoreParams", "_,t,ts,cb,timestamp").split(","))
+                    .map(String::trim).filter(p -> !p.isEmpty()).collect(Collectors.toSet()));
+            HttpMode mode = HttpMode.current();
+            if (mode == HttpMode.REPLAY) {
+                instance.load();
+            } else if (mode == HttpMode.RECORD) {
+                Runtime.getRuntime().addShutdownHook(new Thread(instance::save, "http-archive-save"));
+            }
+        }
+        return instance;
+    }
+
+    public synchronized void record(HttpRequest request, byte[] requestBody, HttpResponse response, byte[] body) {
+        List<List<String>> headers = new ArrayList<>();
+        response.forEachHeader((name, value) -> {
+            if (!DROPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.add(List.of(name, value));
+            }
+        });
+        Exchange exchange = new Exchange(request.getMethod().name(), normalize(request.getUri()), sha256(requestBody),
+            response.getStatus(), headers, body);
+        // The latest answer to the same request wins
+        exchanges.remove(exchange.matchKey());
+        exchanges.put(exchange.matchKey(), exchange);
+    }
+
+    /**
+     * The recorded response to the request, or null - and a recorded miss - when there is none
+     */
+    public synchronized HttpResponse replay(HttpRequest request, byte[] requestBody) {
+        String key = request.getMethod().name() + " " + normalize(request.getUri());
+        Exchange exchange = exchanges.get(key + " " + sha256(requestBody));
+        if (exchange == null) {
+            exchange = exchanges.values().stream()
+                .filter(e -> e.requestKey().equals(key))
+                .findFirst()
+                .orElse(null);
+        }
+        if (exchange == null) {
+            misses.add(key);
+            return null;
+        }
+        return exchange.toResponse();
+    }
+
+    /**
+     * Requests made during replay that the recording had no answer for
+     */
+    public List<String> getMisses() {
+        return new ArrayList<>(misses);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    synchronized void load() {
+        if (!Files.exists(file)) {
+            LOG.warn("No HTTP archive at {} - record one with -Dhttp.mode=record", file.toAbsolutePath());
+            return;
+        }
+        Json json = new Json();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    Exchange exchange = Exchange.fromMap(json.toType(line, Json.MAP_TYPE));
+                    exchanges.put(exchange.matchKey(), exchange);
+                }
+            }
+            LOG.info("Replaying {} HTTP exchanges from {}", exchanges.size(), file);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Could not read HTTP archive {}: {}", file, e.getMessage());
+        }
+    }
+
+    synchronized void save() {
+        if (exchanges.isEmpty()) {
+            return;
+        }
+        Json json = new Json();
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path temp = Files.createTempFile(dir, "http-archive", ".tmp");
+            try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(temp)),
+                    StandardCharsets.UTF_8)) {
+                for (Exchange exchange : exchanges.values()) {
+                    StringBuilder line = new StringBuilder();
+                    try (JsonOutput out = json.newOutput(line)) {
+                        out.setPrettyPrint(false).write(exchange.toMap());
+                    }
+                    writer.write(line.append('\n').toString());
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOG.info("Recorded {} HTTP exchanges to {}", exchanges.size(), file);
+        } catch (IOException e) {
+            LOG.warn("Could not save HTTP archive {}: {}", file, e.getMessage());
+        }
+    }
+
+    String normalize(String url) {
+        int query = url.indexOf('?');
+        if (query < 0 || ignoredParams.isEmpty()) {
+            return url;
+        }
+        String params = Arrays.stream(url.substring(query + 1).split("&"))
+            .filter(param -> !ignoredParams.contains(param.split("=", 2)[0]))
+            .collect(Collectors.joining("&"));
+        return params.isEmpty() ? url.substring(0, query) : url.substring(0, query + 1) + params;
+    }
+
+    private static String sha256(byte[] content) {
+        if (content.length == 0) {
+            return "";
+        }
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * One request and the response the server gave to it
+     */
+    static final class Exchange {
+
+        private final String method;
+        private final String url;
+        private final String requestBodySha;
+        private final int status;
+        private final List<List<String>> headers;
+        private final byte[] body;
+
+        Exchange(String method, String url, String requestBodySha, int status, List<List<String>> headers, byte[] body) {
+            this.method = method;
+            this.url = url;
+            this.requestBodySha = requestBodySha;
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        String requestKey() {
+            return method + " " + url;
+        }
+
+        String matchKey() {
+            return requestKey() + " " + requestBodySha;
+        }
+
+        HttpResponse toResponse() {
+            HttpResponse response = new HttpResponse().setStatus(status);
+            for (List<String> header : headers) {
+                response.addHeader(header.get(0), header.get(1));
+            }
+            response.setContent(Contents.bytes(body));
+            return response;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("method", method);
+            map.put("url", url);
+            map.put("requestBodySha", requestBodySha);
+            map.put("status", status);
+            map.put("headers", headers);
+            map.put("body", Base64.getEncoder().encodeToString(body));
+            return map;
+        }
+
+        @SuppressWarnings("unchecked")
+        static Exchange fromMap(Map<String, Object> map) {
+            List<List<String>> headers = new ArrayList<>();
+            for (Object header : (List<Object>) map.get("headers")) {
+                List<Object> pair = (List<Object>) header;
+                headers.add(List.of(String.valueOf(pair.get(0)), String.valueOf(pair.get(1))));
+            }
+            return new Exchange((String) map.get("method"), (String) map.get("url"), (String) map.get("requestBodySha"),
+                ((Number) map.get("status")).intValue(), headers, Base64.getDecoder().decode((String) map.get("body")));
+        }
+    }
+}
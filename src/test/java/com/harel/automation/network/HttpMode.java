@@ -0,0 +1,23 @@
+package com.harel.automation.network;
+
+import java.util.Locale;
+
+/**
+ * What the network layer does with the browser's HTTP traffic.
+ * Selected with -Dhttp.mode=off|record|replay (default off).
+ */
+public enum HttpMode {
+
+    /** Traffic goes to the network, apart from blocked and cached requests */
+    OFF,
+
+    /** Traffic goes to the network and every exchange is saved to the HTTP archive */
+    RECORD,
+
+    /** Traffic is answered from the HTTP archive only - nothing goes to the network */
+    REPLAY;
+
+    public static HttpMode current() {
+        return valueOf(System.getProperty("http.mode", "off").trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,128 @@
+package com.harel.automation.network;
+
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Filters for the browser's network traffic, composed in front of the real network:
+ * count(stats).andThen(block(...)).andThen(cache(...)).andThen(fetched(stats))
+ * With an HTTP archive, record(...) goes in front of the cache so cached assets are recorded too,
+ * and replay(...) takes the place of everything after block(...).
+ *
+ * URL patterns use the same syntax as Chrome's blocked URLs - '*' matches any run of characters.
+ * A pattern matches when it matches the whole URL, or the URL without its query string.
+ */
+public final class NetworkFilters {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NetworkFilters.class);
+
+    private NetworkFilters() {
+    }
+
+    /**
+     * Count every request the browser makes
+     */
+    public static Filter count(NetworkStats stats) {
+        return next -> req -> {
+            stats.recordRequest();
+            return next.execute(req);
+        };
+    }
+
+    /**
+     * Answer matching requests with an empty 204 instead of sending them
+     */
+    public static Filter block(List<String> patterns, NetworkStats stats) {
+        Predicate<String> blocked = urlMatcher(patterns);
+        return next -> req -> {
+            if (!blocked.test(req.getUri())) {
+                return next.execute(req);
+            }
+            stats.recordBlocked();
+            return new HttpResponse().setStatus(204);
+        };
+    }
+
+    /**
+     * Serve matching GET requests from the cache, storing them on the first miss
+     */
+    public static Filter cache(List<String> patterns, AssetCache cache, NetworkStats stats) {
+        Predicate<String> cacheable = urlMatcher(patterns);
+        return next -> req -> {
+            if (req.getMethod() != HttpMethod.GET || !cacheable.test(req.getUri())) {
+                return next.execute(req);
+            }
+            AssetCache.CachedAsset cached = cache.get(req.getUri());
+            if (cached != null) {
+                stats.recordCacheHit(cached.size());
+                return cached.toResponse();
+            }
+            HttpResponse response = next.execute(req);
+            cache.put(req.getUri(), response, Contents.bytes(response.getContent()));
+            return response;
+        };
+    }
+
+    /**
+     * Save every exchange that passes through to the archive
+     */
+    public static Filter record(HttpArchive archive) {
+        return next -> req -> {
+            byte[] requestBody = Contents.bytes(req.getContent());
+            HttpResponse response = next.execute(req);
+            archive.record(req, requestBody, response, Contents.bytes(response.getContent()));
+            return response;
+        };
+    }
+
+    /**
+     * Answer every request from the archive; requests it has no answer for get a 404 and are reported as misses.
+     * Never calls the network.
+     */
+    public static Filter replay(HttpArchive archive, NetworkStats stats) {
+        return next -> req -> {
+            HttpResponse response = archive.replay(req, Contents.bytes(req.getContent()));
+            if (response == null) {
+                stats.recordMissing();
+                LOG.warn("Not in the HTTP recording: {} {}", req.getMethod(), req.getUri());
+                return new HttpResponse().setStatus(404).setHeader("Content-Type", "text/plain")
+                    .setContent(Contents.utf8String("Not in the HTTP recording"));
+            }
+            stats.recordReplayed();
+            return response;
+        };
+    }
+
+    /**
+     * Add up the bytes of responses that came from the network - the last filter before it
+     */
+    public static Filter fetched(NetworkStats stats) {
+        return next -> req -> {
+            HttpResponse response = next.execute(req);
+            stats.recordFetched(Contents.bytes(response.getContent()).length);
+            return response;
+        };
+    }
+
+    static Predicate<String> urlMatcher(List<String> patterns) {
+        if (patterns.isEmpty()) {
+            return url -> false;
+        }
+        Pattern regex = Pattern.compile(patterns.stream()
+            .map(glob -> Pattern.quote(glob).replace("*", "\\E.*\\Q"))
+            .collect(Collectors.joining("|")));
+        return url -> {
+            int query = url.indexOf('?');
+            return regex.matcher(url).matches() || (query >= 0 && regex.matcher(url.substring(0, query)).matches());
+        };
+    }
+}
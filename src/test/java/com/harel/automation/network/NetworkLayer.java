@@ -0,0 +1,135 @@
+package com.harel.automation.network;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Filter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * DevTools network layer of one browser session: analytics, tag managers and other third-party
+ * requests the tests never check are blocked, and static assets are served from the on-disk AssetCache.
+ * Must be attached to the raw browser driver - DevTools is not reachable through the event-firing decorator.
+ * With -Dhttp.mode=record the traffic is also saved to the HttpArchive; with -Dhttp.mode=replay it is answered
+ * from the archive and never reaches the network.
+ *
+ * Configuration (system properties):
+ * network.layer - attach the layer to new sessions (default true; always attached when recording or replaying)
+ * network.block - comma-separated URL patterns to block (default: common analytics and ad hosts; empty blocks nothing)
+ * network.cache - comma-separated URL patterns to cache (default: scripts, styles, images and fonts; empty caches nothing)
+ */
+public class NetworkLayer implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NetworkLayer.class);
+
+    static final List<String> DEFAULT_BLOCKED_URLS = List.of(
+        "*google-analytics.com/*", "*googletagmanager.com/*", "*doubleclick.net/*", "*googleadservices.com/*",
+        "*facebook.net/*", "*facebook.com/tr*", "*hotjar.com/*", "*clarity.ms/*", "*bing.com/bat*");
+
+    static final List<String> DEFAULT_CACHED_URLS = List.of(
+        "*.js", "*.css", "*.woff", "*.woff2", "*.ttf", "*.png", "*.jpg", "*.jpeg", "*.gif", "*.svg", "*.webp", "*.ico");
+
+    private final NetworkInterceptor interceptor;
+    private final NetworkStats stats;
+
+    private NetworkLayer(NetworkInterceptor interceptor, NetworkStats stats) {
+        this.interceptor = interceptor;
+        this.stats = stats;
+    }
+
+    public static boolean isEnabled() {
+        return HttpMode.current() != HttpMode.OFF || Boolean.parseBoolean(System.getProperty("network.layer", "true"));
+    }
+
+    /**
+     * Intercept the browser's traffic, also blocking the extra patterns (e.g. fonts for a lean profile).
+     * Returns null when the layer is turned off or the browser has no DevTools connection;
+     * the session then simply uses the network as usual - except in replay mode, where that is an error.
+     */
+    public static NetworkLayer attach(WebDriver browser, List<String> extraBlockedUrls) {
+        HttpMode mode = HttpMode.current();
+        if (mode == HttpMode.REPLAY && !(browser instanceof HasDevTools)) {
+            throw new IllegalStateException("HTTP replay needs a browser with DevTools, not " + browser.getClass().getName());
+        }
+        if (!isEnabled() || !(browser instanceof HasDevTools)) {
+            return null;
+        }
+        List<String> blocked = new ArrayList<>(patterns("network.block", DEFAULT_BLOCKED_URLS));
+        blocked.addAll(extraBlockedUrls);
+        NetworkStats stats = new NetworkStats();
+        try {
+            return new NetworkLayer(new NetworkInterceptor(browser, filters(mode, blocked, stats)), stats);
+        } catch (RuntimeException e) {
+            if (mode == HttpMode.REPLAY) {
+                throw new IllegalStateException("Could not attach the network layer for HTTP replay", e);
+            }
+            LOG.warn("Could not attach the network layer, using the network directly: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Run the script in every new document of the browser before the page's own scripts, on the DevTools session
+     * the layer shares with the browser. Returns false when the browser has no DevTools connection.
+     */
+    public static boolean evaluateOnNewDocument(WebDriver browser, String script) {
+        if (!(browser instanceof HasDevTools)) {
+            return false;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) browser).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            devTools.send(new Command<Void>("Page.addScriptToEvaluateOnNewDocument", Map.of("source", script)));
+            return true;
+        } catch (RuntimeException e) {
+            LOG.warn("Could not register the script for new documents: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static Filter filters(HttpMode mode, List<String> blocked, NetworkStats stats) {
+        Filter filters = NetworkFilters.count(stats).andThen(NetworkFilters.block(blocked, stats));
+        if (mode == HttpMode.REPLAY) {
+            return filters.andThen(NetworkFilters.replay(HttpArchive.getInstance(), stats));
+        }
+        if (mode == HttpMode.RECORD) {
+            filters = filters.andThen(NetworkFilters.record(HttpArchive.getInstance()));
+        }
+        return filters
+            .andThen(NetworkFilters.cache(patterns("network.cache", DEFAULT_CACHED_URLS), AssetCache.fromSystemProperties(), stats))
+            .andThen(NetworkFilters.fetched(stats));
+    }
+
+    public NetworkStats getStats() {
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        try {
+            interceptor.close();
+        } catch (RuntimeException e) {
+            // Browser already gone
+        }
+    }
+
+    private static List<String> patterns(String property, List<String> defaults) {
+        String value = System.getProperty(property);
+        if (value == null) {
+            return defaults;
+        }
+        return Arrays.stream(value.split(","))
+            .map(String::trim)
+            .filter(pattern -> !pattern.isEmpty())
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,112 @@
+package com.harel.automation.network;
+
+import com.harel.automation.driver.DriverContext;
+import com.harel.automation.utils.StepTimer;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Attributes the network layer's counters to each test and writes network-usage.json / .csv
+ * with the requests and bytes saved per test when the suite finishes.
+ * In replay mode it also lists the requests the HTTP recording had no answer for (replay-misses.json).
+ * Must be registered after StepTimingListener, which names the running test.
+ *
+ * Configuration (system properties):
+ * network.report.dir - output directory (default target/surefire-reports/network)
+ */
+public class NetworkReporter implements IInvokedMethodListener, ISuiteListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NetworkReporter.class);
+
+    private static final ThreadLocal<String> CURRENT_TEST = new ThreadLocal<>();
+    private static final ConcurrentLinkedQueue<NetworkUsage> USAGE = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            CURRENT_TEST.set(StepTimer.currentTestId());
+            // Traffic from earlier tests on this browser is not this test's
+            if (DriverContext.isActive()) {
+                DriverContext.getNetworkLayer().ifPresent(network -> network.getStats().drain(null));
+            }
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            String testId = CURRENT_TEST.get();
+            CURRENT_TEST.remove();
+            if (DriverContext.isActive()) {
+                DriverContext.getNetworkLayer().ifPresent(network -> USAGE.add(network.getStats().drain(testId)));
+            }
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Path dir = Paths.get(System.getProperty("network.report.dir", "target/surefire-reports/network"));
+        if (HttpMode.current() == HttpMode.REPLAY) {
+            reportMisses(dir, HttpArchive.getInstance());
+        }
+        List<NetworkUsage> usage = List.copyOf(USAGE);
+        if (usage.isEmpty()) {
+            return;
+        }
+        long requests = usage.stream().mapToLong(NetworkUsage::getRequests).sum();
+        long saved = usage.stream().mapToLong(NetworkUsage::getRequestsSaved).sum();
+        long bytes = usage.stream().mapToLong(NetworkUsage::getBytesSaved).sum();
+        LOG.info("Network layer saved {} of {} requests and {} KB across {} test(s)", saved, requests, bytes / 1024,
+            usage.size());
+
+        try {
+            Files.createDirectories(dir);
+            String json = new Json().toJson(usage.stream().map(NetworkUsage::toMap).collect(Collectors.toList()));
+            Files.write(dir.resolve("network-usage.json"), json.getBytes(StandardCharsets.UTF_8));
+
+            StringBuilder csv = new StringBuilder("testId,requests,blocked,cacheHits,requestsSaved,bytesSaved,fetchedBytes,replayed,missing\n");
+            for (NetworkUsage u : usage) {
+                csv.append('"').append(u.getTestId() == null ? "" : u.getTestId().replace("\"", "\"\"")).append('"')
+                    .append(',').append(u.getRequests()).append(',').append(u.getBlocked())
+                    .append(',').append(u.getCacheHits()).append(',').append(u.getRequestsSaved())
+                    .append(',').append(u.getBytesSaved()).append(',').append(u.getFetchedBytes())
+                    .append(',').append(u.getReplayed()).append(',').append(u.getMissing()).append('\n');
+            }
+            Files.write(dir.resolve("network-usage.csv"), csv.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LOG.warn("Could not write network usage report: {}", e.getMessage());
+        }
+    }
+
+    private static void reportMisses(Path dir, HttpArchive archive) {
+        List<String> misses = archive.getMisses();
+        if (misses.isEmpty()) {
+            LOG.info("Every request was answered from the HTTP recording {}", archive.getFile());
+            return;
+        }
+        LOG.warn("{} request(s) are missing from the HTTP recording {} - record it again with -Dhttp.mode=record:",
+            misses.size(), archive.getFile());
+        misses.forEach(miss -> LOG.warn("  {}", miss));
+        try {
+            Files.createDirectories(dir);
+            Files.write(dir.resolve("replay-misses.json"), new Json().toJson(misses).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            LOG.warn("Could not write replay misses: {}", e.getMessage());
+        }
+    }
+}
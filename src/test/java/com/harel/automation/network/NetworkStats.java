@@ -0,0 +1,51 @@
+package com.harel.automation.network;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Running network counters of one browser session.
+ * Updated from the DevTools event thread, drained per test by NetworkReporter.
+ */
+public class NetworkStats {
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong blocked = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheBytes = new AtomicLong();
+    private final AtomicLong fetchedBytes = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong missing = new AtomicLong();
+
+    void recordRequest() {
+        requests.incrementAndGet();
+    }
+
+    void recordBlocked() {
+        blocked.incrementAndGet();
+    }
+
+    void recordCacheHit(long bytes) {
+        cacheHits.incrementAndGet();
+        cacheBytes.addAndGet(bytes);
+    }
+
+    void recordFetched(long bytes) {
+        fetchedBytes.addAndGet(bytes);
+    }
+
+    void recordReplayed() {
+        replayed.incrementAndGet();
+    }
+
+    void recordMissing() {
+        missing.incrementAndGet();
+    }
+
+    /**
+     * Counters since the last drain, attributed to the test; the counters start again from zero
+     */
+    public NetworkUsage drain(String testId) {
+        return new NetworkUsage(testId, requests.getAndSet(0), blocked.getAndSet(0), cacheHits.getAndSet(0),
+            cacheBytes.getAndSet(0), fetchedBytes.getAndSet(0), replayed.getAndSet(0), missing.getAndSet(0));
+    }
+}
@@ -0,0 +1,96 @@
+package com.harel.automation.network;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Network traffic of one test: requests the browser made, how many were blocked or served
+ * from the asset cache, and the bytes that came from the cache versus the network.
+ * Blocked requests never reach the network, so their size is unknown and not counted in the bytes.
+ * In replay mode, replayed and missing count the requests answered from the HTTP archive and those it lacked.
+ */
+public class NetworkUsage {
+
+    private final String testId;
+    private final long requests;
+    private final long blocked;
+    private final long cacheHits;
+    private final long cacheBytes;
+    private final long fetchedBytes;
+    private final long replayed;
+    private final long missing;
+
+    NetworkUsage(String testId, long requests, long blocked, long cacheHits, long cacheBytes, long fetchedBytes,
+                 long replayed, long missing) {
+        this.testId = testId;
+        this.requests = requests;
+        this.blocked = blocked;
+        this.cacheHits = cacheHits;
+        this.cacheBytes = cacheBytes;
+        this.fetchedBytes = fetchedBytes;
+        this.replayed = replayed;
+        this.missing = missing;
+    }
+
+    public String getTestId() {
+        return testId;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getBlocked() {
+        return blocked;
+    }
+
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * Requests that did not go to the network
+     */
+    public long getRequestsSaved() {
+        return blocked + cacheHits + replayed;
+    }
+
+    /**
+     * Bytes served from the asset cache instead of the network
+     */
+    public long getBytesSaved() {
+        return cacheBytes;
+    }
+
+    public long getFetchedBytes() {
+        return fetchedBytes;
+    }
+
+    public long getReplayed() {
+        return replayed;
+    }
+
+    public long getMissing() {
+        return missing;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("testId", testId);
+        map.put("requests", requests);
+        map.put("blocked", blocked);
+        map.put("cacheHits", cacheHits);
+        map.put("requestsSaved", getRequestsSaved());
+        map.put("bytesSaved", cacheBytes);
+        map.put("fetchedBytes", fetchedBytes);
+        map.put("replayed", replayed);
+        map.put("missing", missing);
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return testId + ": " + getRequestsSaved() + "/" + requests + " requests saved (" + blocked + " blocked, "
+            + cacheHits + " cached, " + replayed + " replayed), " + cacheBytes / 1024 + " KB from cache";
+    }
+}
@@ -0,0 +1,212 @@
+package com.harel.automation.pages;
+
+import com.harel.automation.driver.DriverContext;
+import com.harel.automation.locators.LocatorRegistry;
+import com.harel.automation.locators.RegisteredLocator;
+import com.harel.automation.resilience.Deadline;
+import com.harel.automation.resilience.RetryPolicy;
+import com.harel.automation.utils.WaitUtils;
+import org.openqa.selenium.By;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Base class for page objects - resolves the driver from the current thread's
+ * DriverContext on every call, so one page object instance is safe to use from parallel tests
+ */
+public abstract class BasePage {
+    
+    // Evaluates locator candidates in order and returns [index of the matching candidate, rows] with a
+    // [element, visible, enabled, text, class] row for every match of the first candidate that matches anything
+    private static final String BATCH_QUERY_SCRIPT =
+        "var candidates = arguments[0];" +
+        "function find(using, value) {" +
+        "  switch (using) {" +
+        "    case 'css selector': return Array.prototype.slice.call(document.querySelectorAll(value));" +
+        "    case 'id': var byId = document.getElementById(value); return byId ? [byId] : [];" +
+        "    case 'name': return Array.prototype.slice.call(document.getElementsByName(value));" +
+        "    case 'tag name': return Array.prototype.slice.call(document.getElementsByTagName(value));" +
+        "    case 'class name': return Array.prototype.slice.call(document.getElementsByClassName(value));" +
+        "    case 'xpath':" +
+        "      var result = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+        "      var nodes = [];" +
+        "      for (var i = 0; i < result.snapshotLength; i++) { nodes.push(result.snapshotItem(i)); }" +
+        "      return nodes;" +
+        "    default: throw new Error('Unsupported locator strategy: ' + using);" +
+        "  }" +
+        "}" +
+        "function isVisible(el) {" +
+        "  if (el.checkVisibility) { return el.checkVisibility({checkOpacity: true, checkVisibilityCSS: true}); }" +
+        "  var rect = el.getBoundingClientRect(), style = getComputedStyle(el);" +
+        "  return rect.width > 0 && rect.height > 0 && style.visibility !== 'hidden' && style.opacity !== '0';" +
+        "}" +
+        "for (var c = 0; c < candidates.length; c++) {" +
+        "  var matches = find(candidates[c][0], candidates[c][1]).filter(function (n) { return n.nodeType === 1; });" +
+        "  if (matches.length > 0) {" +
+        "    return [c, matches.map(function (el) {" +
+        "      var visible = isVisible(el);" +
+        "      var enabled = !el.disabled && el.getAttribute('aria-disabled') !== 'true';" +
+        "      return [el, visible, enabled, visible ? (el.innerText || '').trim() : '', el.getAttribute('class') || ''];" +
+        "    })];" +
+        "  }" +
+        "}" +
+        "return [-1, []];";
+    
+    protected WebDriver driver() {
+        return DriverContext.getDriver();
+    }
+    
+    protected WebDriverWait waitFor() {
+        return DriverContext.getWait();
+    }
+    
+    /**
+     * Explicit wait bounded by what is left of the action's deadline
+     */
+    protected WebDriverWait waitFor(Deadline deadline) {
+        return DriverContext.getWait(deadline.remaining());
+    }
+    
+    protected WaitUtils waits() {
+        return new WaitUtils(driver());
+    }
+    
+    protected RetryPolicy retry() {
+        return RetryPolicy.getDefault();
+    }
+    
+    /**
+     * Click the element; when an overlay still animating out intercepts the click, dispatch it through JavaScript
+     */
+    protected void click(WebElement element) {
+        try {
+            element.click();
+        } catch (ElementClickInterceptedException e) {
+            ((JavascriptExecutor) driver()).executeScript("arguments[0].click();", element);
+        }
+    }
+    
+    /**
+     * Locator for a logical element from locators.properties
+     */
+    protected RegisteredLocator locator(String key, Object... args) {
+        return LocatorRegistry.getInstance().get(key, args);
+    }
+    
+    /**
+     * Snapshot every element matching the locator in a single executeScript call
+     */
+    protected List<ElementSnapshot> queryAll(By locator) {
+        return queryFirstMatch(locator);
+    }
+    
+    /**
+     * Try the locators in order inside the browser and snapshot the matches of the first one that finds anything.
+     * Registered locators expand to their ranked strategies, and the one that matched is remembered.
+     * One round trip regardless of how many strategies or elements are involved. Nothing is healed here -
+     * callers poll this, and a miss has to stay a miss.
+     */
+    @SuppressWarnings("unchecked")
+    protected List<ElementSnapshot> queryFirstMatch(By... locators) {
+        List<List<Object>> candidates = new ArrayList<>();
+        // Parallel to candidates: the strategy behind each one and the registered locator it came from, if any
+        List<By> strategies = new ArrayList<>();
+        List<RegisteredLocator> owners = new ArrayList<>();
+        for (By locator : locators) {
+            if (locator instanceof RegisteredLocator) {
+                RegisteredLocator registered = (RegisteredLocator) locator;
+                for (By strategy : registered.candidates()) {
+                    candidates.add(remoteParameters(strategy));
+                    strategies.add(strategy);
+                    owners.add(registered);
+                }
+            } else {
+                candidates.add(remoteParameters(locator));
+                strategies.add(locator);
+                owners.add(null);
+            }
+        }
+        
+        Object result = ((JavascriptExecutor) driver()).executeScript(BATCH_QUERY_SCRIPT, candidates);
+        if (!(result instanceof List)) {
+            return Collections.emptyList();
+        }
+        List<Object> matched = (List<Object>) result;
+        int candidate = ((Number) matched.get(0)).intValue();
+        List<Object> rows = (List<Object>) matched.get(1);
+        RegisteredLocator owner = candidate >= 0 ? owners.get(candidate) : null;
+        if (owner != null) {
+            owner.recordMatch(strategies.get(candidate));
+            for (Object row : rows) {
+                List<Object> values = (List<Object>) row;
+                if (Boolean.TRUE.equals(values.get(1))) {
+                    owner.fingerprint((JavascriptExecutor) driver(), (WebElement) values.get(0), rows.size());
+                    break;
+                }
+            }
+        }
+        return toSnapshots(rows);
+    }
+    
+    /**
+     * Wait for the element to be clickable; if the wait times out, heal the locator as a last resort
+     */
+    protected WebElement clickableOrHealed(WebDriverWait wait, By locator) {
+        try {
+            return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        } catch (TimeoutException e) {
+            return healedOrRethrow(locator, e);
+        }
+    }
+    
+    /**
+     * Last resort for an action that could not find its element within the normal wait: heal the registered
+     * locator once from its fingerprint and return the healed element if it can be clicked, else rethrow the failure.
+     * Only for action sites - never inside a wait condition or a check that an element is present.
+     */
+    protected WebElement healedOrRethrow(By locator, RuntimeException failure) {
+        if (locator instanceof RegisteredLocator) {
+            for (List<Object> row : ((RegisteredLocator) locator).heal((JavascriptExecutor) driver())) {
+                if (Boolean.TRUE.equals(row.get(1)) && Boolean.TRUE.equals(row.get(2))) {
+                    return (WebElement) row.get(0);
+                }
+            }
+        }
+        throw failure;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static List<ElementSnapshot> toSnapshots(List<Object> rows) {
+        List<ElementSnapshot> snapshots = new ArrayList<>();
+        for (Object row : rows) {
+            List<Object> values = (List<Object>) row;
+            snapshots.add(new ElementSnapshot(
+                (WebElement) values.get(0),
+                Boolean.TRUE.equals(values.get(1)),
+                Boolean.TRUE.equals(values.get(2)),
+                (String) values.get(3),
+                (String) values.get(4)));
+        }
+        return snapshots;
+    }
+    
+    /**
+     * [using, value] of a locator, for evaluating it inside a page script
+     */
+    protected static List<Object> remoteParameters(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            throw new IllegalArgumentException("Locator cannot be evaluated in the browser: " + locator);
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        return List.of(parameters.using(), parameters.value());
+    }
+}
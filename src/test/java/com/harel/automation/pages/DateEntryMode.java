@@ -0,0 +1,20 @@
+package com.harel.automation.pages;
+
+import java.util.Locale;
+
+/**
+ * How TravelDatesPage fills the travel date fields.
+ * Selected with -Ddates.entry.mode=direct|calendar (default direct).
+ */
+public enum DateEntryMode {
+    
+    /** Write the value into the input in one script call; fall back to the calendar if it is not accepted */
+    DIRECT,
+    
+    /** Open the date picker and click through months and days */
+    CALENDAR;
+    
+    public static DateEntryMode current() {
+        return valueOf(System.getProperty("dates.entry.mode", "direct").trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,56 @@
+package com.harel.automation.pages;
+
+import org.openqa.selenium.WebElement;
+
+/**
+ * State of one element captured by a batched query - visibility, enabled state, text and class
+ * are read in the same script call, so inspecting them costs no extra WebDriver round trips
+ */
+public class ElementSnapshot {
+    
+    private final WebElement element;
+    private final boolean visible;
+    private final boolean enabled;
+    private final String text;
+    private final String className;
+    
+    ElementSnapshot(WebElement element, boolean visible, boolean enabled, String text, String className) {
+        this.element = element;
+        this.visible = visible;
+        this.enabled = enabled;
+        this.text = text;
+        this.className = className;
+    }
+    
+    public WebElement getElement() {
+        return element;
+    }
+    
+    public boolean isVisible() {
+        return visible;
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Rendered text (innerText) - empty for hidden elements, like WebElement.getText()
+     */
+    public String getText() {
+        return text;
+    }
+    
+    public String getClassName() {
+        return className;
+    }
+    
+    public boolean isClickable() {
+        return visible && enabled;
+    }
+    
+    @Override
+    public String toString() {
+        return "'" + text + "' (visible=" + visible + ", enabled=" + enabled + ", class=" + className + ")";
+    }
+}
@@ -1,380 +1,379 @@
 package com.harel.automation.pages;
 
+import com.harel.automation.locators.RegisteredLocator;
+import com.harel.automation.resilience.CircuitBreaker;
+import com.harel.automation.utils.CalendarPlan;
+import com.harel.automation.utils.DateUtils;
+import com.harel.automation.utils.StepTimer;
+import com.harel.automation.utils.WaitUtils;
 import org.openqa.selenium.By;
-import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Page Object Model for the Travel Dates Selection Page
  */
-public class TravelDatesPage {
+public class TravelDatesPage extends BasePage {
     
-    private WebDriver driver;
-    private WebDriverWait wait;
+    private static final Logger LOG = LoggerFactory.getLogger(TravelDatesPage.class);
     
-    // Locators - based on actual page structure
-    private By departureDateInput = By.id("travel_start_date");  // Input with id="travel_start_date", name="start"
-    private By returnDateInput = By.id("travel_end_date");       // Input with id="travel_end_date", name="end"
-    private By datePickerCalendar = By.xpath("//div[contains(@class, 'MuiPickersCalendar')]");
-    private By datePickerNextMonthButton = By.xpath("//button[contains(@class, 'MuiPickersCalendarHeader-iconButton')][2]");
-    private By datePickerPreviousMonthButton = By.xpath("//button[contains(@class, 'MuiPickersCalendarHeader-iconButton')][1]");
-    private By datePickerMonthYear = By.xpath("//div[contains(@class, 'MuiPickersCalendarHeader-transitionContainer')]");
-    private By totalDaysDisplay = By.xpath("//*[contains(text(), 'ימים') or contains(text(), 'days') or contains(text(), 'סה\"כ') or contains(text(), 'משך')]");
-    private By continueToPassengerDetailsButton = By.xpath("//button[contains(@class, 'MuiButton')]");
-    private By passengerDetailsSection = By.xpath("//*[contains(@class, 'passenger') or contains(text(), 'נוסעים') or contains(text(), 'Passenger')]");
+    // Locators - ranked strategies from locators.properties
+    private final By departureDateInput = locator("dates.departureInput");  // Input with id="travel_start_date", name="start"
+    private final By returnDateInput = locator("dates.returnInput");        // Input with id="travel_end_date", name="end"
+    private final By datePickerCalendar = locator("dates.calendar");
+    private final By datePickerNextMonthButton = locator("dates.nextMonthButton");
+    private final By datePickerPreviousMonthButton = locator("dates.previousMonthButton");
+    private final By datePickerMonthYear = locator("dates.monthHeader");
+    private final By continueToPassengerDetailsButton = locator("dates.continueButton");
+    private final By passengerDetailsSection = locator("passengers.section");
     
-    public TravelDatesPage(WebDriver driver, WebDriverWait wait) {
-        this.driver = driver;
-        this.wait = wait;
-    }
+    private final TripSummaryPanel tripSummary = new TripSummaryPanel();
+    
+    // Sets the value through the native setter so React's value tracker sees the change, then fires its events
+    private static final String DIRECT_ENTRY_SCRIPT =
+        "var input = arguments[0];" +
+        "var setter = Object.getOwnPropertyDescriptor(HTMLInputElement.prototype, 'value').set;" +
+        "input.focus();" +
+        "setter.call(input, arguments[1]);" +
+        "input.dispatchEvent(new Event('input', {bubbles: true}));" +
+        "input.dispatchEvent(new Event('change', {bubbles: true}));" +
+        "input.blur();";
+    
+    private static final long CALENDAR_STEP_TIMEOUT_MILLIS = 5000;
+    
+    // arguments: month navigation button or null, clicks, header element, day locator candidates [[using, value]],
+    // timeout per step, callback. Clicks the button, waiting for the header text to flip after each click, waits for
+    // the slide transition to end, then clicks the first enabled, visible day found by the first matching candidate.
+    // Calls back with {clicked, candidate, header, reason}
+    private static final String CALENDAR_PLAN_SCRIPT =
+        "var button = arguments[0], clicks = arguments[1], header = arguments[2], candidates = arguments[3];" +
+        "var stepTimeout = arguments[4], callback = arguments[arguments.length - 1];" +
+        "function headerText() { return header && header.isConnected ? (header.innerText || '').trim() : ''; }" +
+        "function finish(clicked, candidate, reason) {" +
+        "  callback({clicked: clicked, candidate: candidate, header: headerText(), reason: reason});" +
+        "}" +
+        "function find(using, value) {" +
+        "  if (using === 'css selector') { return Array.prototype.slice.call(document.querySelectorAll(value)); }" +
+        "  if (using === 'xpath') {" +
+        "    var result = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null), nodes = [];" +
+        "    for (var i = 0; i < result.snapshotLength; i++) { nodes.push(result.snapshotItem(i)); }" +
+        "    return nodes;" +
+        "  }" +
+        "  throw new Error('Unsupported day locator strategy: ' + using);" +
+        "}" +
+        "function waitFor(condition, onDone, onTimeout) {" +
+        "  var deadline = Date.now() + stepTimeout;" +
+        "  (function poll() {" +
+        "    if (condition()) { onDone(); } else if (Date.now() > deadline) { onTimeout(); } else { setTimeout(poll, 16); }" +
+        "  })();" +
+        "}" +
+        "function pickDay() {" +
+        "  for (var c = 0; c < candidates.length; c++) {" +
+        "    var matches = find(candidates[c][0], candidates[c][1]);" +
+        "    if (matches.length === 0) { continue; }" +
+        "    for (var m = 0; m < matches.length; m++) {" +
+        "      var day = matches[m].closest('button') || matches[m];" +
+        "      var disabled = day.disabled || /Mui-disabled|MuiPickersDay-hidden/.test(day.className || '');" +
+        "      var rect = day.getBoundingClientRect();" +
+        "      if (!disabled && rect.width > 0 && rect.height > 0) { day.click(); finish(true, c, null); return; }" +
+        "    }" +
+        "    finish(false, c, 'day is disabled');" +
+        "    return;" +
+        "  }" +
+        "  finish(false, -1, 'day not found');" +
+        "}" +
+        "var done = 0;" +
+        "(function navigate() {" +
+        "  if (done === clicks) {" +
+        "    waitFor(function () { return " + WaitUtils.TRANSITIONS_IDLE_CHECK + "; }, pickDay, pickDay);" +
+        "    return;" +
+        "  }" +
+        "  var before = headerText();" +
+        "  button.click();" +
+        "  done++;" +
+        "  waitFor(function () { return headerText() !== before; }, navigate," +
+        "    function () { finish(false, -1, 'header did not change after click ' + done + ' of ' + clicks); });" +
+        "})();";
     
     /**
-     * Select departure date using date picker calendar
+     * Select departure date - direct entry by default, date picker calendar as fallback
      */
     public void selectDepartureDate(LocalDate date) {
+        selectDepartureDate(date, DateEntryMode.current());
+    }
+    
+    public void selectDepartureDate(LocalDate date, DateEntryMode mode) {
+        selectDate(departureDateInput, "Departure", date, mode);
+    }
+    
+    /**
+     * Select return date - direct entry by default, date picker calendar as fallback
+     */
+    public void selectReturnDate(LocalDate date) {
+        selectReturnDate(date, DateEntryMode.current());
+    }
+    
+    public void selectReturnDate(LocalDate date, DateEntryMode mode) {
+        selectDate(returnDateInput, "Return", date, mode);
+        
+        // Extra wait for total days to calculate
+        LOG.info("Waiting for total days calculation...");
+        waits().waitForPageToSettle();
+    }
+    
+    /**
+     * Set a date field using the configured DateEntryMode and report how long each path took
+     */
+    private void selectDate(By inputLocator, String fieldName, LocalDate date, DateEntryMode mode) {
+        long started = System.nanoTime();
+        
+        if (mode == DateEntryMode.DIRECT) {
+            if (StepTimer.step("direct entry", () -> enterDateDirectly(inputLocator, date))) {
+                LOG.info("{} date set by direct entry in {} ms: {}", fieldName, elapsedMillis(started), date);
+                return;
+            }
+            LOG.warn("Direct entry not accepted after {} ms - falling back to the date picker calendar",
+                elapsedMillis(started));
+        }
+        
+        long calendarStarted = System.nanoTime();
+        StepTimer.step("calendar", () -> selectDateViaCalendar(inputLocator, fieldName, date));
+        LOG.info("{} date selected from calendar in {} ms (total {} ms): {}", fieldName, elapsedMillis(calendarStarted),
+            elapsedMillis(started), date);
+    }
+    
+    /**
+     * Fast path: write the value straight into the input and fire React's change events in one script call.
+     * Returns false if the field does not hold the expected value once React has re-rendered.
+     */
+    private boolean enterDateDirectly(By inputLocator, LocalDate date) {
+        String expectedValue = DateUtils.formatDate(date);
         try {
-            System.out.println("Selecting departure date from date picker: " + date);
-            
-            // Click on departure date input to open date picker
-            WebElement departureDateField = wait.until(ExpectedConditions.elementToBeClickable(departureDateInput));
-            departureDateField.click();
-            Thread.sleep(1500); // Wait for date picker to open
-            
-            // Wait for calendar to be visible
-            wait.until(ExpectedConditions.presenceOfElementLocated(datePickerCalendar));
-            System.out.println("✓ Date picker calendar opened");
-            
-            // Select the date from calendar
-            selectDateFromCalendar(date);
-            
-            System.out.println("✓ Departure date selected from calendar: " + date);
-            
-            // Wait for the date to be populated in the field
-            Thread.sleep(1000);
-            
-            // Verify date was entered
-            String enteredValue = departureDateField.getAttribute("value");
-            System.out.println("  Date field value: " + enteredValue);
-            
-        } catch (Exception e) {
-            System.err.println("Error selecting departure date from picker: " + e.getMessage());
-            e.printStackTrace();
-            throw new RuntimeException("Failed to select departure date from picker: " + date, e);
+            WebElement dateField = waitFor().until(ExpectedConditions.presenceOfElementLocated(inputLocator));
+            ((JavascriptExecutor) driver()).executeScript(DIRECT_ENTRY_SCRIPT, dateField, expectedValue);
+            
+            // A controlled input that rejected the value reverts it on the next render
+            waits().waitForReactIdle();
+            String enteredValue = dateField.getAttribute("value");
+            LOG.info("Date field value: {}", enteredValue);
+            return expectedValue.equals(enteredValue);
+        } catch (RuntimeException e) {
+            // The calendar would not fare better against a site that is down
+            if (CircuitBreaker.isOutage(e)) {
+                throw e;
+            }
+            LOG.warn("Direct date entry failed: {}", e.getMessage());
+            return false;
         }
     }
     
     /**
-     * Select return date using date picker calendar
+     * Select a date by opening the date picker calendar and clicking the day
      */
-    public void selectReturnDate(LocalDate date) {
+    private void selectDateViaCalendar(By inputLocator, String fieldName, LocalDate date) {
         try {
-            System.out.println("Selecting return date from date picker: " + date);
+            LOG.info("Selecting {} date from date picker: {}", fieldName.toLowerCase(), date);
             
-            // Click on return date input to open date picker
-            WebElement returnDateField = wait.until(ExpectedConditions.elementToBeClickable(returnDateInput));
-            returnDateField.click();
-            Thread.sleep(1500); // Wait for date picker to open
+            // Click on date input to open date picker
+            WebElement dateField = clickableOrHealed(waitFor(), inputLocator);
+            String previousValue = dateField.getAttribute("value");
+            dateField.click();
             
-            // Wait for calendar to be visible
-            wait.until(ExpectedConditions.presenceOfElementLocated(datePickerCalendar));
-            System.out.println("✓ Date picker calendar opened");
+            // Wait for calendar to be visible and its popover transition to finish
+            waitFor().until(ExpectedConditions.presenceOfElementLocated(datePickerCalendar));
+            waits().waitForMuiTransitions();
+            LOG.info("Date picker calendar opened");
             
             // Select the date from calendar
             selectDateFromCalendar(date);
             
-            System.out.println("✓ Return date selected from calendar: " + date);
-            
             // Wait for the date to be populated in the field
-            Thread.sleep(1000);
+            waits().waitForAttributeChange(dateField, "value", previousValue);
             
             // Verify date was entered
-            String enteredValue = returnDateField.getAttribute("value");
-            System.out.println("  Date field value: " + enteredValue);
-            
-            // Extra wait for total days to calculate
-            System.out.println("  Waiting for total days calculation...");
-            Thread.sleep(1500);
+            String enteredValue = dateField.getAttribute("value");
+            LOG.info("Date field value: {}", enteredValue);
             
         } catch (Exception e) {
-            System.err.println("Error selecting return date from picker: " + e.getMessage());
-            e.printStackTrace();
-            throw new RuntimeException("Failed to select return date from picker: " + date, e);
+            throw new RuntimeException("Failed to select " + fieldName.toLowerCase() + " date from picker: " + date, e);
         }
     }
     
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+    
     /**
-     * Select a specific date from the date picker calendar
-     * This method navigates to the correct month/year and clicks on the day
+     * Select a specific date from the date picker calendar.
+     * The month shown in the header is parsed and the navigation planned from it; the planned clicks,
+     * the waits for the header to flip and the day click then run as one script. If the picker ends up
+     * on another month than planned, the plan is made again from there once.
      */
-    private void selectDateFromCalendar(LocalDate targetDate) throws InterruptedException {
-        try {
-            LocalDate currentDate = LocalDate.now();
-            
-            // Get current month/year displayed in picker
-            WebElement monthYearElement = driver.findElement(datePickerMonthYear);
-            String displayedMonthYear = monthYearElement.getText();
-            System.out.println("Date picker showing: " + displayedMonthYear);
-            
-            // Navigate to the correct month if needed
-            navigateToMonth(targetDate);
-            
-            // Click on the specific day
-            int dayOfMonth = targetDate.getDayOfMonth();
-            System.out.println("Looking for day: " + dayOfMonth);
-            
-            // Find and click the day button
-            // Try multiple strategies to find the date button
-            By dayButton = By.xpath(
-                "//div[contains(@class, 'MuiPickersCalendar')]" +
-                "//button[contains(@class, 'MuiPickersDay-day') and not(contains(@class, 'MuiPickersDay-hidden'))]" +
-                "//*[text()='" + dayOfMonth + "']"
-            );
-            
-            // Alternative: Try finding by day text in any button
-            if (driver.findElements(dayButton).isEmpty()) {
-                dayButton = By.xpath(
-                    "//div[contains(@class, 'MuiPickersCalendar')]" +
-                    "//button[.//p[text()='" + dayOfMonth + "']]"
-                );
-            }
-            
-            // Another alternative: Simple button with text
-            if (driver.findElements(dayButton).isEmpty()) {
-                dayButton = By.xpath(
-                    "//div[contains(@class, 'MuiPickersCalendar')]" +
-                    "//button[contains(., '" + dayOfMonth + "') and not(contains(@class, 'Mui-disabled'))]"
-                );
-            }
-            
-            List<WebElement> dayButtons = driver.findElements(dayButton);
-            System.out.println("Found " + dayButtons.size() + " potential day buttons");
-            
-            if (dayButtons.isEmpty()) {
-                throw new RuntimeException("Could not find day " + dayOfMonth + " in calendar");
-            }
-            
-            // Click the first matching enabled day
-            for (WebElement btn : dayButtons) {
-                try {
-                    if (btn.isDisplayed() && btn.isEnabled()) {
-                        System.out.println("Clicking on day: " + dayOfMonth);
-                        btn.click();
-                        Thread.sleep(500);
-                        return;
-                    }
-                } catch (Exception e) {
-                    // Try next button
-                }
-            }
-            
-            // If no button clicked yet, try JavaScript click
-            WebElement dayBtn = dayButtons.get(0);
-            ((org.openqa.selenium.JavascriptExecutor) driver).executeScript("arguments[0].click();", dayBtn);
-            System.out.println("Clicked day using JavaScript: " + dayOfMonth);
-            Thread.sleep(500);
-            
-        } catch (Exception e) {
-            System.err.println("Error in selectDateFromCalendar: " + e.getMessage());
-            throw e;
+    private void selectDateFromCalendar(LocalDate targetDate) {
+        CalendarPickResult result = runCalendarPlan(planCalendarNavigation(targetDate), targetDate);
+        if (!result.clicked && result.landedOn != null && !result.landedOn.equals(YearMonth.from(targetDate))) {
+            LOG.warn("Picker shows {} instead of {} - re-planning", result.landedOn, YearMonth.from(targetDate));
+            result = runCalendarPlan(DateUtils.planNavigation(result.landedOn, targetDate, LocalDate.now()), targetDate);
+        }
+        if (!result.clicked) {
+            throw new RuntimeException("Could not select day " + targetDate.getDayOfMonth() + " in the date picker ("
+                + result.reason + ", header '" + result.header + "')");
         }
+        LOG.info("Clicked on day: {} ({})", targetDate.getDayOfMonth(), result.header);
+        waits().waitForMuiTransitions();
     }
     
     /**
-     * Navigate to the correct month in the date picker
+     * Plan from the month the picker actually shows; falls back to the current month when the header cannot be read
      */
-    private void navigateToMonth(LocalDate targetDate) throws InterruptedException {
-        LocalDate now = LocalDate.now();
-        int monthDiff = (targetDate.getYear() - now.getYear()) * 12 + 
-                        (targetDate.getMonthValue() - now.getMonthValue());
+    private CalendarPlan planCalendarNavigation(LocalDate targetDate) {
+        List<ElementSnapshot> headers = queryAll(datePickerMonthYear);
+        String headerText = headers.isEmpty() ? "" : headers.get(0).getText();
+        LOG.info("Date picker showing: {}", headerText);
+        YearMonth displayed = DateUtils.parseMonthHeader(headerText).orElseGet(() -> {
+            LOG.warn("Could not parse the picker header '{}' - assuming the current month", headerText);
+            return YearMonth.now();
+        });
+        CalendarPlan plan = DateUtils.planNavigation(displayed, targetDate, LocalDate.now());
+        LOG.info("Calendar plan: {}", plan);
+        return plan;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private CalendarPickResult runCalendarPlan(CalendarPlan plan, LocalDate targetDate) {
+        WebElement navigationButton = null;
+        if (plan.isNavigationNeeded()) {
+            List<ElementSnapshot> buttons = queryAll(plan.isForward() ? datePickerNextMonthButton : datePickerPreviousMonthButton);
+            if (buttons.isEmpty()) {
+                throw new RuntimeException("Month navigation button not found for plan " + plan);
+            }
+            navigationButton = buttons.get(0).getElement();
+        }
+        List<ElementSnapshot> headers = queryAll(datePickerMonthYear);
+        WebElement header = headers.isEmpty() ? null : headers.get(0).getElement();
         
-        System.out.println("Need to navigate " + monthDiff + " months");
+        RegisteredLocator dayLocator = locator("dates.calendarDay", targetDate.getDayOfMonth());
+        List<By> strategies = dayLocator.candidates();
+        List<List<Object>> candidates = new ArrayList<>();
+        for (By strategy : strategies) {
+            candidates.add(remoteParameters(strategy));
+        }
         
-        if (monthDiff > 0) {
-            // Navigate forward
-            for (int i = 0; i < monthDiff; i++) {
-                try {
-                    // Try multiple methods to find and click next month button
-                    List<WebElement> navigationButtons = driver.findElements(
-                        By.xpath("//button[contains(@class, 'MuiPickersCalendarHeader-iconButton')]"));
-                    
-                    if (navigationButtons.size() >= 2) {
-                        // Second button is "next month"
-                        WebElement nextButton = navigationButtons.get(1);
-                        
-                        // Try JavaScript click first (more reliable)
-                        try {
-                            ((org.openqa.selenium.JavascriptExecutor) driver)
-                                .executeScript("arguments[0].click();", nextButton);
-                            System.out.println("✓ Navigated to next month using JS (" + (i + 1) + "/" + monthDiff + ")");
-                        } catch (Exception js_ex) {
-                            // Fallback to regular click
-                            wait.until(ExpectedConditions.elementToBeClickable(nextButton));
-                            nextButton.click();
-                            System.out.println("✓ Navigated to next month (" + (i + 1) + "/" + monthDiff + ")");
-                        }
-                        Thread.sleep(500);
-                    } else {
-                        System.err.println("Navigation buttons not found");
-                        break;
-                    }
-                } catch (Exception e) {
-                    System.err.println("Could not navigate to next month: " + e.getMessage());
-                    // Try to continue anyway
-                }
-            }
-        } else if (monthDiff < 0) {
-            // Navigate backward
-            for (int i = 0; i < Math.abs(monthDiff); i++) {
-                try {
-                    List<WebElement> navigationButtons = driver.findElements(
-                        By.xpath("//button[contains(@class, 'MuiPickersCalendarHeader-iconButton')]"));
-                    
-                    if (navigationButtons.size() >= 1) {
-                        // First button is "previous month"
-                        WebElement prevButton = navigationButtons.get(0);
-                        
-                        // Try JavaScript click first
-                        try {
-                            ((org.openqa.selenium.JavascriptExecutor) driver)
-                                .executeScript("arguments[0].click();", prevButton);
-                            System.out.println("✓ Navigated to previous month using JS (" + (i + 1) + "/" + Math.abs(monthDiff) + ")");
-                        } catch (Exception js_ex) {
-                            wait.until(ExpectedConditions.elementToBeClickable(prevButton));
-                            prevButton.click();
-                            System.out.println("✓ Navigated to previous month (" + (i + 1) + "/" + Math.abs(monthDiff) + ")");
-                        }
-                        Thread.sleep(500);
-                    }
-                } catch (Exception e) {
-                    System.err.println("Could not navigate to previous month: " + e.getMessage());
-                }
-            }
-        } else {
-            System.out.println("Already on correct month - no navigation needed");
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver()).executeAsyncScript(
+            CALENDAR_PLAN_SCRIPT, navigationButton, plan.getClicks(), header, candidates, CALENDAR_STEP_TIMEOUT_MILLIS);
+        int candidate = ((Number) result.get("candidate")).intValue();
+        if (candidate >= 0) {
+            dayLocator.recordMatch(strategies.get(candidate));
         }
+        String headerText = (String) result.get("header");
+        return new CalendarPickResult(Boolean.TRUE.equals(result.get("clicked")), (String) result.get("reason"),
+            headerText, DateUtils.parseMonthHeader(headerText).orElse(null));
+    }
+    
+    /**
+     * Outcome of one run of the calendar plan script
+     */
+    private static final class CalendarPickResult {
         
-        Thread.sleep(500); // Wait for calendar to update
+        private final boolean clicked;
+        private final String reason;
+        private final String header;
+        private final YearMonth landedOn;
+        
+        CalendarPickResult(boolean clicked, String reason, String header, YearMonth landedOn) {
+            this.clicked = clicked;
+            this.reason = reason;
+            this.header = header;
+            this.landedOn = landedOn;
+        }
     }
     
     
     /**
-     * Get the displayed total days text
-     * Waits for the element to appear after dates are selected
+     * Get the displayed total days text - the raw summary, kept for callers that only check the text
      */
     public String getTotalDaysDisplayed() {
-        try {
-            // Wait a bit for the calculation to happen
-            Thread.sleep(1000);
-            
-            // Try multiple strategies to find total days element
-            
-            // Strategy 1: Look for element with "ימים" text
-            try {
-                List<WebElement> elements = driver.findElements(
-                    By.xpath("//*[contains(text(), 'ימים') or contains(text(), 'יום') or contains(text(), 'days')]"));
-                for (WebElement element : elements) {
-                    String text = element.getText();
-                    if (text != null && !text.trim().isEmpty() && text.matches(".*\\d+.*")) {
-                        System.out.println("✓ Found total days element: " + text);
-                        return text;
-                    }
-                }
-            } catch (Exception e1) {
-                System.err.println("Strategy 1 failed: " + e1.getMessage());
-            }
-            
-            // Strategy 2: Look for price summary section which might contain days
-            try {
-                List<WebElement> summaryElements = driver.findElements(
-                    By.xpath("//div[contains(@class, 'summary') or contains(@class, 'price') or contains(@class, 'total')]"));
-                for (WebElement element : summaryElements) {
-                    String text = element.getText();
-                    if (text != null && text.contains("ימים")) {
-                        System.out.println("✓ Found in summary section: " + text);
-                        return text;
-                    }
-                }
-            } catch (Exception e2) {
-                System.err.println("Strategy 2 failed: " + e2.getMessage());
-            }
-            
-            // Strategy 3: Look in entire page for pattern like "31 ימים" or "משך: 31"
-            try {
-                String pageSource = driver.getPageSource();
-                if (pageSource.contains("ימים") || pageSource.contains("יום")) {
-                    // Try to extract from visible text
-                    List<WebElement> allElements = driver.findElements(By.xpath("//*[contains(., 'ימים')]"));
-                    for (WebElement elem : allElements) {
-                        try {
-                            if (elem.isDisplayed()) {
-                                String text = elem.getText();
-                                if (text.matches(".*\\d+.*ימים.*") || text.matches(".*ימים.*\\d+.*")) {
-                                    System.out.println("✓ Found days in page: " + text);
-                                    return text;
-                                }
-                            }
-                        } catch (Exception ignore) {}
-                    }
-                }
-            } catch (Exception e3) {
-                System.err.println("Strategy 3 failed: " + e3.getMessage());
-            }
-            
-            System.err.println("⚠ Total days element not found after trying all strategies");
-            return null;
-            
-        } catch (Exception e) {
-            System.err.println("Error getting total days: " + e.getMessage());
-            return null;
-        }
+        return getTripSummary().map(TripSummary::getRawText).orElse(null);
+    }
+    
+    /**
+     * Read the trip summary (days, start, end) once it has stopped changing
+     */
+    public Optional<TripSummary> getTripSummary() {
+        return tripSummary.read();
     }
     
     /**
      * Click on "Continue to passenger details" button
      */
     public void clickContinueToPassengerDetails() {
+        waits().waitForPageToSettle(); // Wait for button to be ready
+        String previousUrl = driver().getCurrentUrl();
         try {
-            Thread.sleep(1000); // Wait for button to be ready
-            
-            // Find all buttons and click the one with appropriate text
-            java.util.List<WebElement> buttons = driver.findElements(continueToPassengerDetailsButton);
-            System.out.println("Found " + buttons.size() + " buttons");
-            
-            WebElement continueButton = null;
-            for (WebElement btn : buttons) {
-                if (btn.isDisplayed() && btn.isEnabled()) {
-                    String btnText = btn.getText();
-                    if (btnText.contains("הלאה") || btnText.contains("המשך") || btnText.length() > 10) {
-                        continueButton = btn;
-                        System.out.println("Found continue button: " + btnText);
-                        break;
-                    }
+            retry().run("Continue to passenger details", deadline -> {
+                // Snapshot all buttons in one call and click the one with appropriate text
+                List<ElementSnapshot> buttons = queryAll(continueToPassengerDetailsButton);
+                LOG.info("Found {} buttons", buttons.size());
+                click(findContinueButton(buttons).getElement());
+            });
+        } catch (NoSuchElementException e) {
+            click(healedOrRethrow(continueToPassengerDetailsButton, e));
+        }
+        waitForPageTransition(previousUrl);
+    }
+    
+    /**
+     * The clickable button reading "continue", else the first clickable one
+     */
+    private static ElementSnapshot findContinueButton(List<ElementSnapshot> buttons) {
+        ElementSnapshot firstClickable = null;
+        for (ElementSnapshot btn : buttons) {
+            if (btn.isClickable()) {
+                String btnText = btn.getText();
+                if (btnText.contains("הלאה") || btnText.contains("המשך") || btnText.length() > 10) {
+                    LOG.info("Found continue button: {}", btnText);
+                    return btn;
                 }
-            }
-            
-            if (continueButton != null) {
-                continueButton.click();
-                Thread.sleep(2000); // Wait for page transition
-            } else {
-                // Try clicking the first enabled button
-                for (WebElement btn : buttons) {
-                    if (btn.isDisplayed() && btn.isEnabled()) {
-                        btn.click();
-                        Thread.sleep(2000);
-                        break;
-                    }
+                if (firstClickable == null) {
+                    firstClickable = btn;
                 }
             }
-        } catch (Exception e) {
-            System.err.println("Error clicking continue button: " + e.getMessage());
-            e.printStackTrace();
         }
+        if (firstClickable == null) {
+            throw new NoSuchElementException("No clickable continue button among " + buttons.size() + " buttons");
+        }
+        return firstClickable;
+    }
+    
+    /**
+     * Wait for the wizard to leave the dates page and render the next step
+     */
+    private void waitForPageTransition(String previousUrl) {
+        waits().waitForUrlChange(previousUrl);
+        waits().waitForPageToSettle();
+    }
+    
+    /**
+     * Whether the browser is on the travel dates step with the date inputs rendered
+     */
+    public boolean isDisplayed() {
+        if (!driver().getCurrentUrl().contains("/wizard/date")) {
+            return false;
+        }
+        waits().waitForPageToSettle();
+        return !queryAll(departureDateInput).isEmpty();
     }
     
     /**
@@ -382,13 +381,13 @@ public class TravelDatesPage {
      */
     public boolean isPassengerDetailsPageDisplayed() {
         try {
-            wait.until(ExpectedConditions.presenceOfElementLocated(passengerDetailsSection));
+            waitFor().until(ExpectedConditions.presenceOfElementLocated(passengerDetailsSection));
             return true;
-        } catch (Exception e) {
-            System.err.println("Passenger details page not found: " + e.getMessage());
+        } catch (TimeoutException e) {
+            LOG.warn("Passenger details page not found: {}", e.getMessage());
             // Check if URL changed
-            String currentUrl = driver.getCurrentUrl();
-            System.out.println("Current URL: " + currentUrl);
+            String currentUrl = driver().getCurrentUrl();
+            LOG.info("Current URL: {}", currentUrl);
             return currentUrl.contains("passenger") || currentUrl.contains("נוסעים");
         }
     }
@@ -1,134 +1,127 @@
 package com.harel.automation.pages;
 
+import com.harel.automation.resilience.Deadline;
 import org.openqa.selenium.By;
-import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Page Object Model for the Travel Policy Landing Page
  */
-public class TravelPolicyPage {
+public class TravelPolicyPage extends BasePage {
     
-    private WebDriver driver;
-    private WebDriverWait wait;
+    private static final Logger LOG = LoggerFactory.getLogger(TravelPolicyPage.class);
     
-    // Locators - using multiple strategies to ensure compatibility
-    private By firstTimePurchaseButton = By.xpath("//*[contains(text(), 'לרכישה בפעם הראשונה') or contains(text(), 'First time purchase')]");
+    // Locators - ranked strategies from locators.properties
+    private final By firstTimePurchaseButton = locator("landing.firstTimePurchase");
     // Continents are displayed as MuiGrid items after clicking first time purchase
-    private By continentSelectionGrid = By.xpath("//div[contains(@class, 'MuiGrid-item') and contains(@class, 'MuiGrid-grid-xs-6')]");
-    private By continueToTravelDatesButton = By.xpath("//button[contains(@class, 'MuiButton')]");
-    
-    public TravelPolicyPage(WebDriver driver, WebDriverWait wait) {
-        this.driver = driver;
-        this.wait = wait;
-    }
+    private final By continentSelectionGrid = locator("landing.continentGrid");
+    private final By continueToTravelDatesButton = locator("landing.continueButton");
     
     /**
      * Click on "First time purchase" button
      */
     public void clickFirstTimePurchaseButton() {
-        try {
-            WebElement button = wait.until(ExpectedConditions.elementToBeClickable(firstTimePurchaseButton));
-            button.click();
-            Thread.sleep(1000); // Small wait for smooth transition
-        } catch (Exception e) {
-            System.err.println("Error clicking first time purchase button: " + e.getMessage());
-            // Try alternative approaches
-            tryAlternativeClick(firstTimePurchaseButton);
-        }
+        retry().run("First time purchase", deadline ->
+            click(clickableOrHealed(waitFor(deadline), firstTimePurchaseButton)));
+        waits().waitForPageToSettle(); // Continent grid animates in
     }
     
     /**
      * Select a continent from available options
      */
     public void selectContinent() {
-        try {
-            // Wait for continent grid items to be visible
-            wait.until(ExpectedConditions.presenceOfElementLocated(continentSelectionGrid));
-            Thread.sleep(1000);
-            
-            // Find all continent grid items and click the first visible one
-            java.util.List<WebElement> continentOptions = driver.findElements(continentSelectionGrid);
-            System.out.println("Found " + continentOptions.size() + " continent options");
-            
-            // Click the first visible continent
-            for (WebElement continent : continentOptions) {
-                if (continent.isDisplayed()) {
-                    String continentText = continent.getText();
-                    System.out.println("Clicking continent: " + continentText);
-                    continent.click();
-                    Thread.sleep(1000);
-                    return;
+        selectContinent("0");
+    }
+    
+    /**
+     * Select a specific continent - a 0-based position among the visible options, or (part of) its displayed name
+     */
+    public void selectContinent(String continent) {
+        retry().run("Select continent " + continent, deadline -> clickContinent(continent, deadline));
+    }
+    
+    private void clickContinent(String continent, Deadline deadline) {
+        // Wait for continent grid items to be visible
+        waitFor(deadline).until(ExpectedConditions.presenceOfElementLocated(continentSelectionGrid));
+        waits().waitForMuiTransitions();
+        
+        // Snapshot all continent grid items in one call and pick from the visible ones
+        List<ElementSnapshot> continentOptions = new ArrayList<>();
+        for (ElementSnapshot option : queryAll(continentSelectionGrid)) {
+            if (option.isVisible()) {
+                continentOptions.add(option);
+            }
+        }
+        LOG.info("Found {} continent options", continentOptions.size());
+        
+        ElementSnapshot selected = null;
+        if (continent.trim().matches("\\d+")) {
+            int index = Integer.parseInt(continent.trim());
+            if (index < continentOptions.size()) {
+                selected = continentOptions.get(index);
+            }
+        } else {
+            for (ElementSnapshot option : continentOptions) {
+                if (option.getText().contains(continent.trim())) {
+                    selected = option;
+                    break;
                 }
             }
-            
-            // If no continent found, throw exception
-            throw new RuntimeException("No visible continent options found");
-            
-        } catch (Exception e) {
-            System.err.println("Error selecting continent: " + e.getMessage());
-            e.printStackTrace();
-            tryAlternativeClick(continentSelectionGrid);
         }
+        if (selected == null) {
+            // Not rendered yet as far as the retry policy is concerned
+            throw new NoSuchElementException("No visible continent option matches '" + continent + "'");
+        }
+        
+        LOG.info("Clicking continent: {}", selected.getText());
+        click(selected.getElement());
+        waits().waitForPageToSettle();
     }
     
     /**
      * Click on "Continue to travel dates selection" button
      */
     public void clickContinueToTravelDates() {
-        try {
-            // Wait a bit for the button to appear after selecting continent
-            Thread.sleep(1500);
-            
-            // Find the button - it's the MUI button at the bottom
-            java.util.List<WebElement> buttons = driver.findElements(continueToTravelDatesButton);
-            System.out.println("Found " + buttons.size() + " buttons");
-            
-            // Click the last visible button (continue button is usually at the bottom)
-            WebElement continueButton = null;
-            for (WebElement btn : buttons) {
-                if (btn.isDisplayed() && btn.isEnabled()) {
-                    String buttonText = btn.getText();
-                    System.out.println("Button text: " + buttonText);
-                    // Look for button with text containing "הלאה" (continue)
-                    if (buttonText.contains("הלאה") || buttonText.length() > 10) {
-                        continueButton = btn;
-                        break;
-                    }
-                }
+        retry().run("Continue to travel dates", deadline -> {
+            // The continue button appears once a continent is selected
+            WebElement button;
+            try {
+                button = waitFor(deadline).until(d -> findContinueButton());
+            } catch (TimeoutException e) {
+                button = healedOrRethrow(continueToTravelDatesButton, e);
             }
-            
-            if (continueButton != null) {
-                continueButton.click();
-                System.out.println("Clicked continue button");
-                
-                // Wait for URL to change to dates page
-                wait.until(ExpectedConditions.urlContains("/wizard/date"));
-                Thread.sleep(1000); // Extra wait for page elements to load
-                System.out.println("Successfully navigated to dates page");
-            } else {
-                throw new RuntimeException("Continue button not found");
-            }
-        } catch (Exception e) {
-            System.err.println("Error clicking continue button: " + e.getMessage());
-            e.printStackTrace();
-            tryAlternativeClick(continueToTravelDatesButton);
-        }
+            click(button);
+            LOG.info("Clicked continue button");
+        });
+        
+        // Wait for URL to change to dates page
+        waits().waitForUrlContains("/wizard/date");
+        waits().waitForPageToSettle(); // Let the date inputs render
+        LOG.info("Successfully navigated to dates page");
     }
     
     /**
-     * Alternative click method using JavaScript executor
+     * Find the enabled MUI button with text containing "הלאה" (continue), or null if not rendered yet
      */
-    private void tryAlternativeClick(By locator) {
-        try {
-            WebElement element = driver.findElement(locator);
-            ((org.openqa.selenium.JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
-            Thread.sleep(1000);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to click element after multiple attempts: " + locator, e);
+    private WebElement findContinueButton() {
+        for (ElementSnapshot btn : queryAll(continueToTravelDatesButton)) {
+            if (btn.isClickable()) {
+                String buttonText = btn.getText();
+                if (buttonText.contains("הלאה") || buttonText.length() > 10) {
+                    LOG.info("Continue button text: {}", buttonText);
+                    return btn.getElement();
+                }
+            }
         }
+        return null;
     }
 }
 
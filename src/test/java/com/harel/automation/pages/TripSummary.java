@@ -0,0 +1,82 @@
+package com.harel.automation.pages;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The trip summary shown on the dates page once both dates are set: insured days and the date range
+ */
+public class TripSummary {
+
+    private final int days;
+    private final LocalDate start;
+    private final LocalDate end;
+    private final String rawText;
+    private final boolean stable;
+
+    public TripSummary(int days, LocalDate start, LocalDate end, String rawText, boolean stable) {
+        this.days = days;
+        this.start = start;
+        this.end = end;
+        this.rawText = rawText;
+        this.stable = stable;
+    }
+
+    /**
+     * Build from the {days, start, end, text, stable} map returned by the summary script.
+     * Empty when a scraped date is not a real date (e.g. 31/02 while the text is half rendered) -
+     * the summary is then treated as not rendered yet.
+     */
+    static Optional<TripSummary> fromScriptResult(Map<String, Object> result) {
+        try {
+            return Optional.of(new TripSummary(
+                ((Number) result.get("days")).intValue(),
+                parseDate(result.get("start")),
+                parseDate(result.get("end")),
+                (String) result.get("text"),
+                Boolean.TRUE.equals(result.get("stable"))));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static LocalDate parseDate(Object isoDate) {
+        return isoDate == null ? null : LocalDate.parse((String) isoDate);
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * Start of the displayed range, or null if the summary shows no dates
+     */
+    public LocalDate getStart() {
+        return start;
+    }
+
+    /**
+     * End of the displayed range, or null if the summary shows no dates
+     */
+    public LocalDate getEnd() {
+        return end;
+    }
+
+    public String getRawText() {
+        return rawText;
+    }
+
+    /**
+     * False when the summary was still changing when the read timed out
+     */
+    public boolean isStable() {
+        return stable;
+    }
+
+    @Override
+    public String toString() {
+        return days + " days (" + start + " - " + end + ")";
+    }
+}
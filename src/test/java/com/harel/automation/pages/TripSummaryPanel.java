@@ -0,0 +1,116 @@
+package com.harel.automation.pages;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The trip-summary region of the dates page.
+ * A MutationObserver installed in the page tracks when the region last changed; one async script
+ * call parses the day count and date range in the browser and returns once the text has been quiet.
+ * Later reads of an unchanged summary return straight away.
+ */
+public class TripSummaryPanel extends BasePage {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TripSummaryPanel.class);
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+    private static final long QUIET_MILLIS = 200;
+
+    // arguments: region element or null, quiet millis, timeout millis, callback.
+    // Calls back with {days, start, end, text, stable} or null when no day count appears in time
+    private static final String READ_SUMMARY_SCRIPT =
+        "var region = arguments[0], quietMillis = arguments[1], timeoutMillis = arguments[2];" +
+        "var callback = arguments[arguments.length - 1];" +
+        "var DAYS = /(\\d+)\\s*(?:ימים|יום|days?)|(?:ימים|משך|days)\\D{0,15}(\\d+)/i;" +
+        "var DATE = /(\\d{1,2})[\\/.](\\d{1,2})[\\/.](\\d{4})/g;" +
+        "function findRegion() {" +
+        "  var walker = document.createTreeWalker(document.body, NodeFilter.SHOW_TEXT);" +
+        "  for (var node = walker.nextNode(); node; node = walker.nextNode()) {" +
+        "    if (DAYS.test(node.nodeValue)) { var el = node.parentElement; return el.parentElement || el; }" +
+        "  }" +
+        "  return null;" +
+        "}" +
+        "function iso(m) { return m[3] + '-' + ('0' + m[2]).slice(-2) + '-' + ('0' + m[1]).slice(-2); }" +
+        "function parse(root) {" +
+        "  if (!root || !root.isConnected) { return null; }" +
+        "  var text = (root.innerText || root.textContent || '').trim().replace(/\\s+/g, ' ');" +
+        "  var days = DAYS.exec(text);" +
+        "  if (!days) { return null; }" +
+        "  var dates = [];" +
+        // The range may sit next to the day count rather than inside the same element
+        "  for (var scope = root, up = 0; scope && up < 3 && dates.length < 2; scope = scope.parentElement, up++) {" +
+        "    var scopeText = scope.innerText || scope.textContent || '', m;" +
+        "    dates = [];" +
+        "    DATE.lastIndex = 0;" +
+        "    while (dates.length < 2 && (m = DATE.exec(scopeText))) { dates.push(iso(m)); }" +
+        "  }" +
+        "  return {days: parseInt(days[1] || days[2], 10), start: dates.length === 2 ? dates[0] : null," +
+        "    end: dates.length === 2 ? dates[1] : null, text: text};" +
+        "}" +
+        "var state = window.__harelTripSummary;" +
+        "if (!state || !state.region || !state.region.isConnected || (region && state.region !== region)) {" +
+        "  if (state) { state.observer.disconnect(); }" +
+        // A freshly installed observer has seen nothing yet - the quiet period starts now, not at the epoch
+        "  state = window.__harelTripSummary = {region: region || findRegion(), lastChange: Date.now()};" +
+        "  state.observer = new MutationObserver(function () { state.lastChange = Date.now(); });" +
+        "  state.observer.observe(state.region || document.body, {childList: true, subtree: true, characterData: true});" +
+        "}" +
+        "var deadline = Date.now() + timeoutMillis;" +
+        "(function check() {" +
+        "  var now = Date.now();" +
+        "  if (!state.region || !state.region.isConnected) { state.region = findRegion(); }" +
+        "  var value = parse(state.region);" +
+        "  var quietFor = now - state.lastChange;" +
+        "  if ((value && quietFor >= quietMillis) || now >= deadline) {" +
+        "    if (value) { value.stable = quietFor >= quietMillis; }" +
+        "    callback(value);" +
+        "    return;" +
+        "  }" +
+        "  setTimeout(check, Math.max(20, Math.min(quietMillis - quietFor, 100)));" +
+        "})();";
+
+    /**
+     * Read the summary once it has stopped changing, waiting up to 5 seconds for it to appear
+     */
+    public Optional<TripSummary> read() {
+        return read(DEFAULT_TIMEOUT);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Optional<TripSummary> read(Duration timeout) {
+        // The registered region is optional - the script finds the day count by its text otherwise
+        List<ElementSnapshot> regions = queryAll(locator("dates.tripSummary"));
+        WebElement region = regions.isEmpty() ? null : regions.get(0).getElement();
+
+        Object result;
+        try {
+            result = ((JavascriptExecutor) driver()).executeAsyncScript(
+                READ_SUMMARY_SCRIPT, region, QUIET_MILLIS, timeout.toMillis());
+        } catch (WebDriverException e) {
+            LOG.warn("Error reading trip summary: {}", e.getMessage());
+            return Optional.empty();
+        }
+        if (!(result instanceof Map)) {
+            LOG.warn("Trip summary did not show a day count within {} ms", timeout.toMillis());
+            return Optional.empty();
+        }
+        Map<String, Object> values = (Map<String, Object>) result;
+        Optional<TripSummary> summary = TripSummary.fromScriptResult(values);
+        if (summary.isEmpty()) {
+            LOG.warn("Trip summary shows no valid date range yet: {}", values.get("text"));
+        } else if (summary.get().isStable()) {
+            LOG.info("Trip summary {}", summary.get());
+        } else {
+            LOG.warn("Trip summary still changing: {}", summary.get());
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,181 @@
+package com.harel.automation.resilience;
+
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Suite-wide breaker for the site under test. Consecutive outage failures - connection refused, DNS
+ * failures, Chrome's net::ERR_ pages - or a failed pre-flight probe open it; while it is open, actions
+ * fail at once with CircuitOpenException and CircuitBreakerListener skips the remaining tests instead of
+ * letting each one run into its wait timeouts. After the cool-down one trial is let through (half-open):
+ * a success closes the breaker again, a failure re-opens it.
+ *
+ * Configuration (system properties):
+ * circuit.breaker - enable the breaker (default true)
+ * circuit.failures - consecutive outage failures that open it (default 3)
+ * circuit.open.seconds - cool-down before a trial is let through (default 60)
+ */
+public final class CircuitBreaker {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    // Chrome error pages and WebDriver errors that mean the site itself could not be reached
+    private static final List<String> OUTAGE_MESSAGES = List.of(
+        "net::ERR_CONNECTION", "net::ERR_NAME_NOT_RESOLVED", "net::ERR_INTERNET_DISCONNECTED",
+        "net::ERR_ADDRESS_UNREACHABLE", "net::ERR_TIMED_OUT", "net::ERR_SSL_PROTOCOL_ERROR", "net::ERR_EMPTY_RESPONSE");
+
+    private static final CircuitBreaker INSTANCE = new CircuitBreaker(
+        Boolean.parseBoolean(System.getProperty("circuit.breaker", "true")),
+        Integer.getInteger("circuit.failures", 3),
+        Duration.ofSeconds(Integer.getInteger("circuit.open.seconds", 60)));
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final boolean enabled;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private String reason;
+    // Thread running the half-open trial; its own actions pass while everyone else still fails fast
+    private Thread trialOwner;
+
+    CircuitBreaker(boolean enabled, int failureThreshold, Duration openDuration) {
+        this(enabled, failureThreshold, openDuration, System::nanoTime);
+    }
+
+    /**
+     * With the clock the cool-down is measured by - tests pass a fake one
+     */
+    CircuitBreaker(boolean enabled, int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.nanoClock = nanoClock;
+    }
+
+    public static CircuitBreaker getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Whether the failure means the site is unreachable rather than the page misbehaving
+     */
+    public static boolean isOutage(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof ConnectException || t instanceof UnknownHostException || t instanceof HttpTimeoutException) {
+                return true;
+            }
+            if (t instanceof WebDriverException && t.getMessage() != null) {
+                for (String message : OUTAGE_MESSAGES) {
+                    if (t.getMessage().contains(message)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fail fast while the breaker is open; after the cool-down one caller is let through as the trial
+     */
+    public synchronized void checkClosed() {
+        if (!enabled || state == State.CLOSED) {
+            return;
+        }
+        if (state == State.OPEN && coolDownElapsed()) {
+            state = State.HALF_OPEN;
+            trialOwner = null;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialOwner == null) {
+                trialOwner = Thread.currentThread();
+                LOG.info("Circuit half-open - letting one trial through");
+            }
+            if (trialOwner == Thread.currentThread()) {
+                return;
+            }
+        }
+        throw new CircuitOpenException("Circuit open, site considered down: " + reason);
+    }
+
+    /**
+     * Whether callers other than a running trial would be turned away right now
+     */
+    public synchronized boolean isOpen() {
+        if (!enabled || state == State.CLOSED) {
+            return false;
+        }
+        return state == State.OPEN ? !coolDownElapsed() : trialOwner != null;
+    }
+
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            LOG.info("Circuit closed - the site responds again");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialOwner = null;
+    }
+
+    /**
+     * Count a failure; only outages move the breaker
+     */
+    public synchronized void recordFailure(Throwable failure) {
+        if (!enabled || !isOutage(failure)) {
+            return;
+        }
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            open(failure.getClass().getSimpleName() + ": " + firstLine(failure.getMessage()));
+        }
+    }
+
+    /**
+     * Open the breaker straight away, e.g. when the pre-flight probe fails
+     */
+    public synchronized void open(String reason) {
+        if (!enabled) {
+            return;
+        }
+        if (state != State.OPEN) {
+            LOG.error("Circuit opened for {}s - {}", openDuration.getSeconds(), reason);
+        }
+        this.state = State.OPEN;
+        this.reason = reason;
+        this.openedAtNanos = nanoClock.getAsLong();
+        this.trialOwner = null;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized String getReason() {
+        return reason;
+    }
+
+    private boolean coolDownElapsed() {
+        return nanoClock.getAsLong() - openedAtNanos >= openDuration.toNanos();
+    }
+
+    private static String firstLine(String message) {
+        if (message == null) {
+            return "";
+        }
+        int newline = message.indexOf('\n');
+        return newline < 0 ? message : message.substring(0, newline);
+    }
+}
@@ -0,0 +1,120 @@
+package com.harel.automation.resilience;
+
+import com.harel.automation.network.HttpMode;
+import com.harel.automation.utils.TestConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Probes the site before the suite and skips tests fast while the CircuitBreaker is open.
+ * Test outcomes feed the breaker: an outage counts as a failure, any other result shows the site answered.
+ * Must be registered after StubServerListener, so the probe reaches a running stub.
+ *
+ * Configuration (system properties):
+ * circuit.probe - probe the landing page before the suite (default true; never in HTTP replay mode)
+ * circuit.probe.timeout.ms - probe timeout (default 10000)
+ */
+public class CircuitBreakerListener implements ISuiteListener, IInvokedMethodListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CircuitBreakerListener.class);
+
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!Boolean.parseBoolean(System.getProperty("circuit.probe", "true")) || HttpMode.current() == HttpMode.REPLAY) {
+            return;
+        }
+        String url = TestConfig.getBaseUrl();
+        Duration timeout = Duration.ofMillis(Long.getLong("circuit.probe.timeout.ms", 10000));
+        String failure = probe(url, timeout);
+        if (failure == null) {
+            LOG.info("Pre-flight probe of {} succeeded", url);
+        } else {
+            CircuitBreaker.getInstance().open("pre-flight probe of " + url + " failed: " + failure);
+        }
+    }
+
+    /**
+     * GET the landing page; returns why the site looks down, or null when it answered
+     */
+    static String probe(String url, Duration timeout) {
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(timeout)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(timeout).GET().build();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() >= 500 ? "HTTP " + response.statusCode() : null;
+        } catch (IOException e) {
+            return e.getClass().getSimpleName() + (e.getMessage() == null ? "" : ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "interrupted";
+        }
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        // Setup methods are included so a skipped test does not start a browser first
+        boolean guarded = method.isTestMethod() || method.getTestMethod().isBeforeMethodConfiguration();
+        if (guarded) {
+            try {
+                CircuitBreaker.getInstance().checkClosed();
+            } catch (CircuitOpenException e) {
+                if (method.isTestMethod()) {
+                    skipped.incrementAndGet();
+                }
+                throw new SkipException(e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod() || testResult.getStatus() == ITestResult.SKIP) {
+            return;
+        }
+        Throwable failure = testResult.getThrowable();
+        if (failure == null) {
+            CircuitBreaker.getInstance().recordSuccess();
+        } else if (CircuitBreaker.isOutage(failure)) {
+            CircuitBreaker.getInstance().recordFailure(failure);
+        } else if (!failedFast(failure)) {
+            // The page misbehaved, but the site answered
+            CircuitBreaker.getInstance().recordSuccess();
+        }
+    }
+
+    private static boolean failedFast(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof CircuitOpenException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (skipped.get() > 0) {
+            LOG.error("{} test(s) skipped because the circuit breaker was open: {}", skipped.get(),
+                CircuitBreaker.getInstance().getReason());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.harel.automation.resilience;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriverException;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Breaker states driven by a fake clock - no browser, no real cool-down
+ */
+public class CircuitBreakerTest {
+
+    private static final Duration COOL_DOWN = Duration.ofSeconds(60);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private CircuitBreaker breaker;
+
+    @BeforeMethod
+    public void setUp() {
+        nanos.set(0);
+        breaker = new CircuitBreaker(true, 3, COOL_DOWN, nanos::get);
+    }
+
+    @Test
+    public void tripsAfterConsecutiveOutages() {
+        breaker.recordFailure(outage());
+        breaker.recordFailure(outage());
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+
+        breaker.recordFailure(outage());
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+        Assert.assertTrue(breaker.isOpen());
+        Assert.assertThrows(CircuitOpenException.class, breaker::checkClosed);
+    }
+
+    @Test
+    public void ignoresPageFailuresAndResetsOnSuccess() {
+        for (int i = 0; i < 5; i++) {
+            breaker.recordFailure(new NoSuchElementException("not rendered yet"));
+        }
+        breaker.recordFailure(outage());
+        breaker.recordFailure(outage());
+        breaker.recordSuccess();
+        breaker.recordFailure(outage());
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+        breaker.checkClosed();
+    }
+
+    @Test
+    public void staysOpenUntilTheCoolDownHasPassed() {
+        breaker.open("probe failed");
+        advance(COOL_DOWN.minusSeconds(1));
+        Assert.assertTrue(breaker.isOpen());
+        Assert.assertThrows(CircuitOpenException.class, breaker::checkClosed);
+
+        advance(Duration.ofSeconds(1));
+        Assert.assertFalse(breaker.isOpen());
+        breaker.checkClosed();
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.HALF_OPEN);
+    }
+
+    @Test
+    public void halfOpenTrialSuccessCloses() {
+        breaker.open("probe failed");
+        advance(COOL_DOWN);
+        breaker.checkClosed();
+        breaker.recordSuccess();
+
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+        Assert.assertFalse(breaker.isOpen());
+    }
+
+    @Test
+    public void halfOpenTrialFailureReopensForAnotherCoolDown() {
+        breaker.open("probe failed");
+        advance(COOL_DOWN);
+        breaker.checkClosed();
+        breaker.recordFailure(outage());
+
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+        advance(COOL_DOWN.minusSeconds(1));
+        Assert.assertThrows(CircuitOpenException.class, breaker::checkClosed);
+        advance(Duration.ofSeconds(1));
+        breaker.checkClosed();
+    }
+
+    @Test
+    public void onlyTheTrialPassesWhileHalfOpen() throws InterruptedException {
+        breaker.open("probe failed");
+        advance(COOL_DOWN);
+        breaker.checkClosed();
+
+        AtomicReference<Throwable> other = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                breaker.checkClosed();
+            } catch (RuntimeException e) {
+                other.set(e);
+            }
+        });
+        thread.start();
+        thread.join();
+        Assert.assertTrue(other.get() instanceof CircuitOpenException, "second caller got " + other.get());
+        Assert.assertTrue(breaker.isOpen());
+    }
+
+    @Test
+    public void disabledBreakerNeverOpens() {
+        CircuitBreaker disabled = new CircuitBreaker(false, 1, COOL_DOWN, nanos::get);
+        disabled.recordFailure(outage());
+        disabled.open("probe failed");
+
+        Assert.assertEquals(disabled.getState(), CircuitBreaker.State.CLOSED);
+        disabled.checkClosed();
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(duration.toMillis()));
+    }
+
+    static WebDriverException outage() {
+        return new WebDriverException("unknown error: net::ERR_CONNECTION_REFUSED");
+    }
+}
@@ -0,0 +1,11 @@
+package com.harel.automation.resilience;
+
+/**
+ * Thrown instead of touching the site while the circuit breaker is open
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
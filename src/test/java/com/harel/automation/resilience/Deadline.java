@@ -0,0 +1,38 @@
+package com.harel.automation.resilience;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Time left for one action across all of its attempts.
+ * Attempts bound their waits by remaining(), so a retried action never outlives its deadline.
+ */
+public final class Deadline {
+
+    private final LongSupplier nanoClock;
+    private final long deadlineNanos;
+
+    private Deadline(LongSupplier nanoClock, long deadlineNanos) {
+        this.nanoClock = nanoClock;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static Deadline after(Duration duration) {
+        return after(duration, System::nanoTime);
+    }
+
+    static Deadline after(Duration duration, LongSupplier nanoClock) {
+        return new Deadline(nanoClock, nanoClock.getAsLong() + duration.toNanos());
+    }
+
+    /**
+     * Time left, never negative
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - nanoClock.getAsLong()));
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - nanoClock.getAsLong() <= 0;
+    }
+}
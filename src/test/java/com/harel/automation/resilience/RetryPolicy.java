@@ -0,0 +1,152 @@
+package com.harel.automation.resilience;
+
+import com.harel.automation.utils.WaitUtils;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Retry budget for flaky page interactions. An action gets a number of attempts and one deadline for all
+ * of them; between attempts it backs off exponentially with jitter. Only transient failures are retried -
+ * a stale or covered element, one not rendered yet. Anything else fails at once, and outages are reported
+ * to the CircuitBreaker and never retried, so a dead site costs one failure instead of a full timeout per step.
+ *
+ * Configuration (system properties):
+ * retry.attempts - attempts per action, including the first (default 3)
+ * retry.backoff.ms - pause before the second attempt, doubled for each further one (default 200)
+ * retry.backoff.max.ms - longest pause between attempts (default 2000)
+ * retry.deadline.ms - time for all attempts of one action together (default 20000, the explicit-wait timeout)
+ */
+public final class RetryPolicy {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RetryPolicy.class);
+
+    private static final List<Class<? extends RuntimeException>> TRANSIENT_FAILURES = List.of(
+        StaleElementReferenceException.class, ElementClickInterceptedException.class,
+        ElementNotInteractableException.class, NoSuchElementException.class);
+
+    private static final RetryPolicy DEFAULT = fromSystemProperties();
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration deadline;
+    private final CircuitBreaker breaker;
+    private final LongSupplier nanoClock;
+    private final LongConsumer sleep;
+
+    public RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff, Duration deadline) {
+        this(maxAttempts, initialBackoff, maxBackoff, deadline, CircuitBreaker.getInstance(), System::nanoTime,
+            WaitUtils::pause);
+    }
+
+    /**
+     * With its own breaker, clock and pause between attempts (millis) - tests pass fakes
+     */
+    RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff, Duration deadline,
+                CircuitBreaker breaker, LongSupplier nanoClock, LongConsumer sleep) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1, was " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.deadline = deadline;
+        this.breaker = breaker;
+        this.nanoClock = nanoClock;
+        this.sleep = sleep;
+    }
+
+    public static RetryPolicy fromSystemProperties() {
+        return new RetryPolicy(
+            Integer.getInteger("retry.attempts", 3),
+            Duration.ofMillis(Long.getLong("retry.backoff.ms", 200)),
+            Duration.ofMillis(Long.getLong("retry.backoff.max.ms", 2000)),
+            Duration.ofMillis(Long.getLong("retry.deadline.ms", 20000)));
+    }
+
+    /**
+     * Policy configured by system properties
+     */
+    public static RetryPolicy getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Same budget with another deadline - for actions known to take longer or shorter than usual
+     */
+    public RetryPolicy withDeadline(Duration deadline) {
+        return new RetryPolicy(maxAttempts, initialBackoff, maxBackoff, deadline, breaker, nanoClock, sleep);
+    }
+
+    public static boolean isTransient(Throwable failure) {
+        return TRANSIENT_FAILURES.stream().anyMatch(type -> type.isInstance(failure));
+    }
+
+    /**
+     * Run the action until it succeeds, fails permanently, runs out of attempts or passes the deadline.
+     * The last failure is thrown with the earlier ones attached as suppressed exceptions.
+     */
+    public <T> T call(String action, Function<Deadline, T> attempt) {
+        Deadline actionDeadline = Deadline.after(deadline, nanoClock);
+        RuntimeException failure = null;
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            breaker.checkClosed();
+            try {
+                T result = attempt.apply(actionDeadline);
+                breaker.recordSuccess();
+                if (attemptNumber > 1) {
+                    LOG.info("{} succeeded on attempt {}", action, attemptNumber);
+                }
+                return result;
+            } catch (RuntimeException e) {
+                if (failure != null) {
+                    e.addSuppressed(failure);
+                }
+                failure = e;
+                if (CircuitBreaker.isOutage(e)) {
+                    breaker.recordFailure(e);
+                    throw e;
+                }
+                if (!isTransient(e) || attemptNumber >= maxAttempts) {
+                    throw e;
+                }
+                long pause = backoffMillis(attemptNumber);
+                if (actionDeadline.remaining().toMillis() <= pause) {
+                    LOG.warn("{} failed on attempt {} and its {} ms deadline has passed", action, attemptNumber,
+                        deadline.toMillis());
+                    throw e;
+                }
+                LOG.warn("{} failed on attempt {} of {} ({}) - retrying in {} ms", action, attemptNumber, maxAttempts,
+                    e.getClass().getSimpleName(), pause);
+                sleep.accept(pause);
+            }
+        }
+    }
+
+    public void run(String action, Consumer<Deadline> attempt) {
+        call(action, deadline -> {
+            attempt.accept(deadline);
+            return null;
+        });
+    }
+
+    /**
+     * Exponential backoff, jittered between half and all of it so parallel tests retrying the same flake spread out
+     */
+    private long backoffMillis(int failedAttempts) {
+        long ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(failedAttempts - 1, 20));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+    }
+}
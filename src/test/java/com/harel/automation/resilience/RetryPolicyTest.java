@@ -0,0 +1,128 @@
+package com.harel.automation.resilience;
+
+import org.openqa.selenium.StaleElementReferenceException;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retry budget against a fake clock: pauses between attempts advance the clock instead of sleeping
+ */
+public class RetryPolicyTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final List<Long> pauses = new ArrayList<>();
+    private final AtomicInteger attempts = new AtomicInteger();
+    private CircuitBreaker breaker;
+
+    @BeforeMethod
+    public void setUp() {
+        nanos.set(0);
+        pauses.clear();
+        attempts.set(0);
+        breaker = new CircuitBreaker(true, 1, Duration.ofSeconds(60), nanos::get);
+    }
+
+    @Test
+    public void retriesTransientFailuresUntilSuccess() {
+        String result = policy(3, Duration.ofSeconds(20)).call("click", deadline -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new StaleElementReferenceException("re-rendered");
+            }
+            return "clicked";
+        });
+
+        Assert.assertEquals(result, "clicked");
+        Assert.assertEquals(attempts.get(), 3);
+        Assert.assertEquals(pauses.size(), 2);
+        // Jittered between half and all of 200 ms, then of 400 ms
+        Assert.assertTrue(pauses.get(0) >= 100 && pauses.get(0) <= 200, "first pause " + pauses.get(0));
+        Assert.assertTrue(pauses.get(1) >= 200 && pauses.get(1) <= 400, "second pause " + pauses.get(1));
+    }
+
+    @Test
+    public void throwsTheLastFailureOnceTheAttemptsAreUsedUp() {
+        StaleElementReferenceException thrown = Assert.expectThrows(StaleElementReferenceException.class, () ->
+            policy(3, Duration.ofSeconds(20)).run("click", deadline -> {
+                throw new StaleElementReferenceException("attempt " + attempts.incrementAndGet());
+            }));
+
+        Assert.assertEquals(attempts.get(), 3);
+        Assert.assertTrue(thrown.getMessage().startsWith("attempt 3"));
+        Assert.assertEquals(thrown.getSuppressed().length, 1);
+    }
+
+    @Test
+    public void stopsRetryingWhenTheDeadlineWouldPassDuringThePause() {
+        List<Duration> remaining = new ArrayList<>();
+        Assert.expectThrows(StaleElementReferenceException.class, () ->
+            policy(10, Duration.ofSeconds(1)).run("click", deadline -> {
+                attempts.incrementAndGet();
+                remaining.add(deadline.remaining());
+                // Each attempt spends 400 ms waiting for the element
+                advance(400);
+                throw new StaleElementReferenceException("re-rendered");
+            }));
+
+        // 400 ms + a 100-200 ms pause + 400 ms leaves less than the next 200-400 ms pause
+        Assert.assertEquals(attempts.get(), 2);
+        Assert.assertEquals(remaining.get(0), Duration.ofSeconds(1));
+        Assert.assertTrue(remaining.get(1).compareTo(Duration.ofMillis(500)) <= 0, "second attempt had " + remaining.get(1));
+        Assert.assertEquals(pauses.size(), 1);
+    }
+
+    @Test
+    public void failsAtOnceOnPermanentFailures() {
+        Assert.expectThrows(IllegalStateException.class, () ->
+            policy(3, Duration.ofSeconds(20)).run("click", deadline -> {
+                attempts.incrementAndGet();
+                throw new IllegalStateException("wrong page");
+            }));
+
+        Assert.assertEquals(attempts.get(), 1);
+        Assert.assertTrue(pauses.isEmpty());
+    }
+
+    @Test
+    public void outagesOpenTheBreakerInsteadOfRetrying() {
+        RetryPolicy policy = policy(3, Duration.ofSeconds(20));
+        Assert.expectThrows(RuntimeException.class, () -> policy.run("open", deadline -> {
+            attempts.incrementAndGet();
+            throw CircuitBreakerTest.outage();
+        }));
+        Assert.assertEquals(attempts.get(), 1);
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+
+        // The next action fails fast without touching the page
+        Assert.expectThrows(CircuitOpenException.class, () -> policy.run("click", deadline -> attempts.incrementAndGet()));
+        Assert.assertEquals(attempts.get(), 1);
+    }
+
+    @Test
+    public void withDeadlineKeepsTheClock() {
+        List<Duration> remaining = new ArrayList<>();
+        policy(3, Duration.ofSeconds(20)).withDeadline(Duration.ofSeconds(5))
+            .run("click", deadline -> remaining.add(deadline.remaining()));
+
+        Assert.assertEquals(remaining.get(0), Duration.ofSeconds(5));
+    }
+
+    private RetryPolicy policy(int maxAttempts, Duration deadline) {
+        return new RetryPolicy(maxAttempts, Duration.ofMillis(200), Duration.ofMillis(2000), deadline, breaker,
+            nanos::get, millis -> {
+                pauses.add(millis);
+                advance(millis);
+            });
+    }
+
+    private void advance(long millis) {
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
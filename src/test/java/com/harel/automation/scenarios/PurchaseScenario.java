@@ -0,0 +1,54 @@
+package com.harel.automation.scenarios;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * One purchase flow to run: which continent to pick and which travel dates to enter.
+ * Dates are resolved against today when the matrix is loaded.
+ */
+public class PurchaseScenario {
+
+    private final String continent;
+    private final String departureSpec;
+    private final String daysSpec;
+    private final LocalDate departureDate;
+    private final LocalDate returnDate;
+
+    public PurchaseScenario(String continent, String departureSpec, String daysSpec,
+                            LocalDate departureDate, LocalDate returnDate) {
+        this.continent = continent;
+        this.departureSpec = departureSpec;
+        this.daysSpec = daysSpec;
+        this.departureDate = departureDate;
+        this.returnDate = returnDate;
+    }
+
+    /**
+     * Continent to select - a 0-based position in the continent grid or (part of) its displayed name
+     */
+    public String getContinent() {
+        return continent;
+    }
+
+    public LocalDate getDepartureDate() {
+        return departureDate;
+    }
+
+    public LocalDate getReturnDate() {
+        return returnDate;
+    }
+
+    /**
+     * Insured days the site should display - departure and return day both count
+     */
+    public int getExpectedDays() {
+        return (int) ChronoUnit.DAYS.between(departureDate, returnDate) + 1;
+    }
+
+    @Override
+    public String toString() {
+        return "continent=" + continent + ", departure=" + departureSpec + " (" + departureDate + ")"
+            + ", days=" + daysSpec + " (" + getExpectedDays() + ")";
+    }
+}
@@ -0,0 +1,190 @@
+package com.harel.automation.scenarios;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Loads purchase scenarios from a CSV or JSON matrix.
+ *
+ * CSV - one scenario per line: continent,departure,days (header line and # comments allowed)
+ * JSON - {"continents": [...], "departures": [...], "days": [...]} is expanded to every combination;
+ *        an optional "scenarios": [{"continent", "departure", "days"}] list is added as-is
+ *
+ * continent: 0-based position in the continent grid, or (part of) the continent's name
+ * departure: days from today, or end-of-month, end-of-year, start-of-next-month - optionally +N/-N days;
+ *            a boundary that would put the departure on or before today moves to the next month or year
+ * days: insured days including both travel days, max (-Dscenarios.maxTripDays, default 180),
+ *       cross-month (return on the 1st of the next month) or cross-year (return on 1 January)
+ *
+ * Configuration (system properties):
+ * scenarios.file - matrix on the test classpath or file system (default scenarios/purchase-matrix.json)
+ * scenarios.limit - run only the first N scenarios
+ */
+public final class ScenarioMatrix {
+
+    private static final Pattern DEPARTURE_TOKEN = Pattern.compile("^([a-z]+(?:-[a-z]+)*)([+-]\\d+)?$");
+
+    private ScenarioMatrix() {
+    }
+
+    /**
+     * The configured matrix resolved against today's date
+     */
+    public static List<PurchaseScenario> load() {
+        List<PurchaseScenario> scenarios = load(System.getProperty("scenarios.file", "scenarios/purchase-matrix.json"),
+            LocalDate.now());
+        int limit = Integer.getInteger("scenarios.limit", scenarios.size());
+        return scenarios.subList(0, Math.min(limit, scenarios.size()));
+    }
+
+    public static List<PurchaseScenario> load(String location, LocalDate today) {
+        String content = read(location);
+        List<String[]> rows = location.toLowerCase(Locale.ROOT).endsWith(".json") ? parseJson(content) : parseCsv(content);
+        List<PurchaseScenario> scenarios = new ArrayList<>();
+        for (String[] row : rows) {
+            LocalDate departure = resolveDeparture(row[1], today);
+            scenarios.add(new PurchaseScenario(row[0], row[1], row[2], departure, resolveReturn(row[2], departure)));
+        }
+        return scenarios;
+    }
+
+    static LocalDate resolveDeparture(String spec, LocalDate today) {
+        String value = spec.trim().toLowerCase(Locale.ROOT);
+        if (value.matches("\\d+")) {
+            return today.plusDays(Integer.parseInt(value));
+        }
+        Matcher token = DEPARTURE_TOKEN.matcher(value);
+        if (!token.matches()) {
+            throw new IllegalArgumentException("Unknown departure '" + spec + "'");
+        }
+        // Departures are never today, so boundary tokens resolve from tomorrow onwards
+        String boundary = token.group(1);
+        int offset = token.group(2) == null ? 0 : Integer.parseInt(token.group(2));
+        LocalDate base;
+        switch (boundary) {
+            case "end-of-month":
+                base = today.plusDays(1).with(TemporalAdjusters.lastDayOfMonth());
+                break;
+            case "end-of-year":
+                base = today.plusDays(1).with(TemporalAdjusters.lastDayOfYear());
+                break;
+            case "start-of-next-month":
+                base = today.with(TemporalAdjusters.firstDayOfNextMonth());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown departure '" + spec + "'");
+        }
+        // Close to the boundary a negative offset lands on today or earlier (end-of-year-1 on 30 December) -
+        // the scenario then moves on to the same boundary of the next month or year
+        LocalDate departure = base.plusDays(offset);
+        while (!departure.isAfter(today)) {
+            base = nextBoundary(boundary, base);
+            departure = base.plusDays(offset);
+        }
+        return departure;
+    }
+
+    private static LocalDate nextBoundary(String boundary, LocalDate base) {
+        switch (boundary) {
+            case "end-of-month":
+                return base.plusMonths(1).with(TemporalAdjusters.lastDayOfMonth());
+            case "end-of-year":
+                return base.plusYears(1);
+            default:
+                return base.plusMonths(1);
+        }
+    }
+
+    static LocalDate resolveReturn(String spec, LocalDate departure) {
+        String value = spec.trim().toLowerCase(Locale.ROOT);
+        switch (value) {
+            case "max":
+                return departure.plusDays(Integer.getInteger("scenarios.maxTripDays", 180) - 1);
+            case "cross-month":
+                return departure.with(TemporalAdjusters.firstDayOfNextMonth());
+            case "cross-year":
+                return departure.with(TemporalAdjusters.firstDayOfNextYear());
+            default:
+                if (!value.matches("\\d+") || Integer.parseInt(value) < 1) {
+                    throw new IllegalArgumentException("Unknown trip length '" + spec + "'");
+                }
+                return departure.plusDays(Integer.parseInt(value) - 1);
+        }
+    }
+
+    private static List<String[]> parseCsv(String content) {
+        List<String[]> rows = new ArrayList<>();
+        for (String line : content.split("\\R")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#") || trimmed.toLowerCase(Locale.ROOT).startsWith("continent,")) {
+                continue;
+            }
+            String[] cols = trimmed.split("\\s*,\\s*");
+            if (cols.length != 3) {
+                throw new IllegalArgumentException("Expected continent,departure,days but got: " + line);
+            }
+            rows.add(cols);
+        }
+        return rows;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String[]> parseJson(String content) {
+        Map<String, Object> matrix = new Json().toType(content, Json.MAP_TYPE);
+        List<String[]> rows = new ArrayList<>();
+        List<Object> continents = (List<Object>) matrix.getOrDefault("continents", List.of());
+        List<Object> departures = (List<Object>) matrix.getOrDefault("departures", List.of());
+        List<Object> days = (List<Object>) matrix.getOrDefault("days", List.of());
+        for (Object continent : continents) {
+            for (Object departure : departures) {
+                for (Object length : days) {
+                    rows.add(new String[] {text(continent), text(departure), text(length)});
+                }
+            }
+        }
+        for (Object entry : (List<Object>) matrix.getOrDefault("scenarios", List.of())) {
+            Map<String, Object> scenario = (Map<String, Object>) entry;
+            rows.add(new String[] {text(scenario.get("continent")), text(scenario.get("departure")), text(scenario.get("days"))});
+        }
+        return rows;
+    }
+
+    // JSON numbers come back as Long or Double; 7 must read as "7", not "7.0"
+    private static String text(Object value) {
+        if (value instanceof Number) {
+            return String.valueOf(((Number) value).longValue());
+        }
+        return String.valueOf(value);
+    }
+
+    private static String read(String location) {
+        try {
+            Path file = Paths.get(location);
+            if (Files.exists(file)) {
+                return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            }
+            try (InputStream in = ScenarioMatrix.class.getResourceAsStream("/" + location)) {
+                if (in == null) {
+                    throw new IllegalArgumentException("Scenario matrix not found: " + location);
+                }
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read scenario matrix " + location, e);
+        }
+    }
+}
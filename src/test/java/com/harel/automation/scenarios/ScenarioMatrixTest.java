@@ -0,0 +1,50 @@
+package com.harel.automation.scenarios;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Departure tokens resolved against fixed dates - the year and month boundaries are where they go wrong
+ */
+public class ScenarioMatrixTest {
+
+    @Test
+    public void endOfYearMinusOneOn30DecemberMovesToNextYear() {
+        LocalDate today = LocalDate.of(2025, 12, 30);
+        Assert.assertEquals(ScenarioMatrix.resolveDeparture("end-of-year-1", today), LocalDate.of(2026, 12, 30));
+        Assert.assertEquals(ScenarioMatrix.resolveDeparture("end-of-year", today), LocalDate.of(2025, 12, 31));
+    }
+
+    @Test
+    public void endOfYearOn31DecemberIsNextYear() {
+        LocalDate today = LocalDate.of(2025, 12, 31);
+        Assert.assertEquals(ScenarioMatrix.resolveDeparture("end-of-year-1", today), LocalDate.of(2026, 12, 30));
+        Assert.assertEquals(ScenarioMatrix.resolveDeparture("end-of-year", today), LocalDate.of(2026, 12, 31));
+    }
+
+    @Test
+    public void endOfMonthMinusOffsetMovesToNextMonth() {
+        LocalDate today = LocalDate.of(2026, 1, 30);
+        Assert.assertEquals(ScenarioMatrix.resolveDeparture("end-of-month-1", today), LocalDate.of(2026, 2, 27));
+        Assert.assertEquals(ScenarioMatrix.resolveDeparture("start-of-next-month-2", today), LocalDate.of(2026, 2, 27));
+    }
+
+    @Test
+    public void bundledMatrixLoadsAtTheEndOfTheYear() {
+        for (LocalDate today : new LocalDate[] {LocalDate.of(2025, 12, 30), LocalDate.of(2025, 12, 31)}) {
+            List<PurchaseScenario> scenarios = ScenarioMatrix.load("scenarios/purchase-matrix.json", today);
+            Assert.assertFalse(scenarios.isEmpty());
+            for (PurchaseScenario scenario : scenarios) {
+                Assert.assertTrue(scenario.getDepartureDate().isAfter(today), scenario + " departs by " + today);
+            }
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void unknownTokenIsRejected() {
+        ScenarioMatrix.resolveDeparture("end-of-week", LocalDate.of(2025, 12, 30));
+    }
+}
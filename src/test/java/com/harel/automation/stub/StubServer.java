@@ -0,0 +1,245 @@
+package com.harel.automation.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded HTTP server serving a local replica of the Harel travel-policy wizard:
+ * landing page, continent grid, /wizard/date with the MUI date picker and the passenger page.
+ *
+ * Configuration (system properties):
+ * stub.port - port to listen on (default 0 = any free port)
+ * stub.bind - address to listen on (default loopback; 0.0.0.0 when browsers run on Grid nodes)
+ * stub.host - host name in the stub's URLs, as the browsers reach it (default localhost)
+ * stub.latency.ms - latency injected before every response (default 0)
+ * stub.latency.jitter.ms - random extra latency up to this value (default 0)
+ */
+public class StubServer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StubServer.class);
+
+    public static final String CONTEXT_PATH = "/travel-policy";
+
+    private static final StubServer INSTANCE = new StubServer();
+
+    private static final String CONTINENTS_JSON =
+        "[{\"id\":\"europe\",\"name\":\"אירופה\"}," +
+        "{\"id\":\"usa-canada\",\"name\":\"ארה\\\"ב וקנדה\"}," +
+        "{\"id\":\"asia\",\"name\":\"אסיה\"}," +
+        "{\"id\":\"africa\",\"name\":\"אפריקה\"}," +
+        "{\"id\":\"oceania\",\"name\":\"אוסטרליה וניו זילנד\"}," +
+        "{\"id\":\"south-america\",\"name\":\"דרום ומרכז אמריקה\"}]";
+
+    private final Map<String, byte[]> resourceCache = new ConcurrentHashMap<>();
+    private final AtomicLong requestCount = new AtomicLong();
+
+    private volatile long latencyMillis = Long.getLong("stub.latency.ms", 0);
+    private volatile long jitterMillis = Long.getLong("stub.latency.jitter.ms", 0);
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    private StubServer() {
+    }
+
+    public static StubServer getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Start the server if it is not running yet
+     */
+    public synchronized void start() {
+        if (server != null) {
+            return;
+        }
+        try {
+            String bind = System.getProperty("stub.bind");
+            InetAddress address = bind == null ? InetAddress.getLoopbackAddress() : InetAddress.getByName(bind);
+            server = HttpServer.create(new InetSocketAddress(address, Integer.getInteger("stub.port", 0)), 0);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start stub server", e);
+        }
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "stub-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext(CONTEXT_PATH, this::handle);
+        server.start();
+        LOG.info("Stub server listening on {} (latency {}ms, jitter {}ms)", getBaseUrl(), latencyMillis, jitterMillis);
+    }
+
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        LOG.info("Stub server stopped after {} requests", requestCount.get());
+    }
+
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * URL of the replica landing page, equivalent to the live travel-policy URL
+     */
+    public synchronized String getBaseUrl() {
+        if (server == null) {
+            throw new IllegalStateException("Stub server is not running");
+        }
+        return "http://" + System.getProperty("stub.host", "localhost") + ":" + server.getAddress().getPort() + CONTEXT_PATH;
+    }
+
+    /**
+     * Change the injected latency at runtime, e.g. between benchmark iterations
+     */
+    public void setLatency(long latencyMillis, long jitterMillis) {
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try {
+            injectLatency();
+            String path = exchange.getRequestURI().getPath().substring(CONTEXT_PATH.length());
+            if (path.isEmpty() || path.equals("/")) {
+                sendResource(exchange, "landing.html");
+            } else if (path.equals("/wizard/date")) {
+                sendResource(exchange, "date.html");
+            } else if (path.equals("/wizard/passengers")) {
+                sendResource(exchange, "passengers.html");
+            } else if (path.startsWith("/static/")) {
+                sendResource(exchange, path.substring("/static/".length()));
+            } else if (path.equals("/api/continents")) {
+                send(exchange, 200, "application/json", CONTINENTS_JSON.getBytes(StandardCharsets.UTF_8));
+            } else if (path.equals("/api/quote")) {
+                sendQuote(exchange);
+            } else {
+                sendNotFound(exchange);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void injectLatency() throws InterruptedException {
+        long delay = latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+    }
+
+    /**
+     * Trip length for the selected dates, inclusive of the departure day like the live site
+     */
+    private void sendQuote(HttpExchange exchange) throws IOException {
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        try {
+            LocalDate start = LocalDate.parse(query.get("start"));
+            LocalDate end = LocalDate.parse(query.get("end"));
+            if (end.isBefore(start)) {
+                send(exchange, 400, "application/json",
+                    "{\"error\":\"end before start\"}".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            long days = ChronoUnit.DAYS.between(start, end) + 1;
+            String json = "{\"start\":\"" + start + "\",\"end\":\"" + end + "\",\"days\":" + days + "}";
+            send(exchange, 200, "application/json", json.getBytes(StandardCharsets.UTF_8));
+        } catch (DateTimeParseException | NullPointerException e) {
+            send(exchange, 400, "application/json",
+                "{\"error\":\"invalid dates\"}".getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void sendResource(HttpExchange exchange, String name) throws IOException {
+        if (name.contains("..")) {
+            sendNotFound(exchange);
+            return;
+        }
+        byte[] body = resourceCache.computeIfAbsent(name, this::loadResource);
+        if (body.length == 0) {
+            sendNotFound(exchange);
+            return;
+        }
+        send(exchange, 200, contentType(name), body);
+    }
+
+    private byte[] loadResource(String name) {
+        try (InputStream in = StubServer.class.getResourceAsStream("/stub/" + name)) {
+            return in == null ? new byte[0] : in.readAllBytes();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read stub resource " + name, e);
+        }
+    }
+
+    private void sendNotFound(HttpExchange exchange) throws IOException {
+        send(exchange, 404, "text/plain", "Not found".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=UTF-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String contentType(String name) {
+        if (name.endsWith(".html")) {
+            return "text/html";
+        } else if (name.endsWith(".css")) {
+            return "text/css";
+        } else if (name.endsWith(".js")) {
+            return "application/javascript";
+        }
+        return "application/octet-stream";
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+}
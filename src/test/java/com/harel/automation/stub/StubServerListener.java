@@ -0,0 +1,23 @@
+package com.harel.automation.stub;
+
+import com.harel.automation.utils.TestConfig;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * Starts the stub server with the suite when -Dharel.target=stub and stops it at the end
+ */
+public class StubServerListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (TestConfig.isStubTarget()) {
+            StubServer.getInstance().start();
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        StubServer.getInstance().stop();
+    }
+}
@@ -0,0 +1,64 @@
+package com.harel.automation.tests;
+
+import com.harel.automation.driver.DriverContext;
+import com.harel.automation.pages.DateEntryMode;
+import com.harel.automation.pages.TravelDatesPage;
+import com.harel.automation.pages.TravelPolicyPage;
+import com.harel.automation.utils.TestConfig;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Debug test comparing direct date entry with month-by-month calendar clicks.
+ * Uses a departure date a year out, where the calendar path needs 12+ month navigations.
+ */
+public class DateEntryTimingTest {
+    
+    private static final Logger LOG = LoggerFactory.getLogger(DateEntryTimingTest.class);
+    
+    private final TravelPolicyPage travelPolicyPage = new TravelPolicyPage();
+    private final TravelDatesPage travelDatesPage = new TravelDatesPage();
+    
+    @BeforeMethod
+    public void setUp() {
+        DriverContext.start();
+    }
+    
+    @Test
+    public void compareDateEntryModes() {
+        WebDriver driver = DriverContext.getDriver();
+        LocalDate departureDate = LocalDate.now().plusYears(1);
+        LocalDate returnDate = departureDate.plusDays(30);
+        Map<DateEntryMode, Long> timings = new LinkedHashMap<>();
+        
+        for (DateEntryMode mode : DateEntryMode.values()) {
+            driver.get(TestConfig.getBaseUrl());
+            travelPolicyPage.clickFirstTimePurchaseButton();
+            travelPolicyPage.selectContinent();
+            travelPolicyPage.clickContinueToTravelDates();
+            
+            long started = System.nanoTime();
+            travelDatesPage.selectDepartureDate(departureDate, mode);
+            travelDatesPage.selectReturnDate(returnDate, mode);
+            timings.put(mode, (System.nanoTime() - started) / 1_000_000);
+        }
+        
+        LOG.info("Date Entry Timing (departure {}, return {})", departureDate, returnDate);
+        timings.forEach((mode, millis) -> LOG.info(String.format("%-10s %6d ms", mode, millis)));
+    }
+    
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        if (DriverContext.isActive()) {
+            DriverContext.stop();
+        }
+    }
+}
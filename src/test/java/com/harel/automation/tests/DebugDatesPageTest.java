@@ -1,11 +1,12 @@
 package com.harel.automation.tests;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.harel.automation.driver.BrowserEngines;
+import com.harel.automation.driver.BrowserProfile;
+import com.harel.automation.flow.FlowCheckpoints;
+import com.harel.automation.utils.TestConfig;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.testng.annotations.Test;
 
 import java.util.List;
@@ -17,87 +18,19 @@ public class DebugDatesPageTest {
     
     @Test
     public void inspectDatesPage() throws InterruptedException {
-        WebDriverManager.chromedriver().setup();
-        
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--start-maximized");
-        
-        WebDriver driver = new ChromeDriver(options);
+        // Visible browser on the configured engine, outside the pool
+        WebDriver driver = BrowserEngines.current().start(BrowserProfile.DESKTOP);
         
         try {
-            // Navigate through the flow to get to dates page
-            System.out.println("\n=== Navigating to Dates Page ===");
-            driver.get("https://digital.harel-group.co.il/travel-policy");
-            Thread.sleep(2000);
-            
-            // Click first time purchase
-            WebElement firstTimeBtn = driver.findElement(By.xpath("//*[contains(text(), 'לרכישה')]"));
-            firstTimeBtn.click();
-            Thread.sleep(2000);
-            
-            // Click first continent - use more specific selector
-            List<WebElement> continents = driver.findElements(By.xpath("//div[contains(@class, 'MuiGrid-item') and contains(@class, 'MuiGrid-grid-xs-6')]"));
-            System.out.println("Found " + continents.size() + " continents");
-            for (WebElement continent : continents) {
-                if (continent.isDisplayed() && !continent.getText().isEmpty() && continent.getText().length() < 50) {
-                    System.out.println("Clicking continent: " + continent.getText());
-                    continent.click();
-                    Thread.sleep(1500); // Wait after clicking continent
-                    break;
-                }
-            }
-            
-            // Check buttons before clicking continue
-            System.out.println("\n=== Looking for Continue Button ===");
-            List<WebElement> buttons = driver.findElements(By.tagName("button"));
-            System.out.println("Found " + buttons.size() + " buttons");
-            
-            WebElement continueBtn = null;
-            for (WebElement btn : buttons) {
+            // Navigate through the flow to get to dates page, or restore it from an earlier run's checkpoint
+            FlowCheckpoints.reach(driver, FlowCheckpoints.datesPage("0"), () -> {
                 try {
-                    if (btn.isDisplayed()) {
-                        String btnText = btn.getText();
-                        System.out.println("Button: " + btnText);
-                        if (btnText.contains("הלאה") || btnText.length() > 10) {
-                            continueBtn = btn;
-                            System.out.println("Found continue button!");
-                            break;
-                        }
-                    }
-                } catch (Exception e) {
-                    // Skip
-                }
-            }
-            
-            if (continueBtn != null) {
-                String urlBefore = driver.getCurrentUrl();
-                System.out.println("URL before clicking: " + urlBefore);
-                
-                continueBtn.click();
-                System.out.println("Clicked continue button");
-                
-                // Wait for URL to change
-                System.out.println("Waiting for URL to change...");
-                for (int i = 0; i < 10; i++) {
-                    Thread.sleep(1000);
-                    String currentUrl = driver.getCurrentUrl();
-                    System.out.println("After " + (i+1) + " second(s): " + currentUrl);
-                    if (!currentUrl.equals(urlBefore)) {
-                        System.out.println("URL changed!");
-                        break;
-                    }
+                    navigateToDatesPage(driver);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while navigating to the dates page", e);
                 }
-            } else {
-                System.out.println("Continue button NOT found! Printing all page elements...");
-                System.out.println("\nAll buttons:");
-                for (WebElement btn : buttons) {
-                    try {
-                        System.out.println("  - " + btn.getText() + " | Class: " + btn.getAttribute("class"));
-                    } catch (Exception e) {
-                        // Skip
-                    }
-                }
-            }
+            }, d -> d.getCurrentUrl().contains("/wizard/date") && !d.findElements(By.tagName("input")).isEmpty());
             
             System.out.println("\n=== Arrived at Dates Page ===");
             System.out.println("Current URL: " + driver.getCurrentUrl());
@@ -182,5 +115,81 @@ public class DebugDatesPageTest {
             driver.quit();
         }
     }
+    
+    private void navigateToDatesPage(WebDriver driver) throws InterruptedException {
+        // Navigate through the flow to get to dates page
+        System.out.println("\n=== Navigating to Dates Page ===");
+        driver.get(TestConfig.getBaseUrl());
+        Thread.sleep(2000);
+        
+        // Click first time purchase
+        WebElement firstTimeBtn = driver.findElement(By.xpath("//*[contains(text(), 'לרכישה')]"));
+        firstTimeBtn.click();
+        Thread.sleep(2000);
+        
+        // Click first continent - use more specific selector
+        List<WebElement> continents = driver.findElements(By.xpath("//div[contains(@class, 'MuiGrid-item') and contains(@class, 'MuiGrid-grid-xs-6')]"));
+        System.out.println("Found " + continents.size() + " continents");
+        for (WebElement continent : continents) {
+            if (continent.isDisplayed() && !continent.getText().isEmpty() && continent.getText().length() < 50) {
+                System.out.println("Clicking continent: " + continent.getText());
+                continent.click();
+                Thread.sleep(1500); // Wait after clicking continent
+                break;
+            }
+        }
+        
+        // Check buttons before clicking continue
+        System.out.println("\n=== Looking for Continue Button ===");
+        List<WebElement> buttons = driver.findElements(By.tagName("button"));
+        System.out.println("Found " + buttons.size() + " buttons");
+        
+        WebElement continueBtn = null;
+        for (WebElement btn : buttons) {
+            try {
+                if (btn.isDisplayed()) {
+                    String btnText = btn.getText();
+                    System.out.println("Button: " + btnText);
+                    if (btnText.contains("הלאה") || btnText.length() > 10) {
+                        continueBtn = btn;
+                        System.out.println("Found continue button!");
+                        break;
+                    }
+                }
+            } catch (Exception e) {
+                // Skip
+            }
+        }
+        
+        if (continueBtn != null) {
+            String urlBefore = driver.getCurrentUrl();
+            System.out.println("URL before clicking: " + urlBefore);
+            
+            continueBtn.click();
+            System.out.println("Clicked continue button");
+            
+            // Wait for URL to change
+            System.out.println("Waiting for URL to change...");
+            for (int i = 0; i < 10; i++) {
+                Thread.sleep(1000);
+                String currentUrl = driver.getCurrentUrl();
+                System.out.println("After " + (i+1) + " second(s): " + currentUrl);
+                if (!currentUrl.equals(urlBefore)) {
+                    System.out.println("URL changed!");
+                    break;
+                }
+            }
+        } else {
+            System.out.println("Continue button NOT found! Printing all page elements...");
+            System.out.println("\nAll buttons:");
+            for (WebElement btn : buttons) {
+                try {
+                    System.out.println("  - " + btn.getText() + " | Class: " + btn.getAttribute("class"));
+                } catch (Exception e) {
+                    // Skip
+                }
+            }
+        }
+        
+    }
 }
-
@@ -1,11 +1,11 @@
 package com.harel.automation.tests;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.harel.automation.driver.BrowserEngines;
+import com.harel.automation.driver.BrowserProfile;
+import com.harel.automation.utils.TestConfig;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.testng.annotations.Test;
 
 import java.util.List;
@@ -18,17 +18,13 @@ public class DebugPageStructureTest {
     
     @Test
     public void inspectPageStructure() throws InterruptedException {
-        WebDriverManager.chromedriver().setup();
-        
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--start-maximized");
-        
-        WebDriver driver = new ChromeDriver(options);
+        // Visible browser on the configured engine, outside the pool
+        WebDriver driver = BrowserEngines.current().start(BrowserProfile.DESKTOP);
         
         try {
             // Step 1: Open the website
             System.out.println("\n=== Opening Website ===");
-            driver.get("https://digital.harel-group.co.il/travel-policy");
+            driver.get(TestConfig.getBaseUrl());
             Thread.sleep(3000); // Wait for page to load
             
             System.out.println("Page Title: " + driver.getTitle());
@@ -0,0 +1,89 @@
+package com.harel.automation.tests;
+
+import com.harel.automation.driver.DriverContext;
+import com.harel.automation.flow.FlowCheckpoints;
+import com.harel.automation.pages.TravelDatesPage;
+import com.harel.automation.pages.TravelPolicyPage;
+import com.harel.automation.pages.TripSummary;
+import com.harel.automation.scenarios.PurchaseScenario;
+import com.harel.automation.scenarios.ScenarioMatrix;
+import com.harel.automation.utils.StepTimer;
+import com.harel.automation.utils.TestConfig;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Runs the purchase flow for every scenario in the matrix (continent x departure x trip length).
+ * The data provider is parallel, so scenarios fan out across the driver pool - see testng-matrix.xml.
+ */
+public class PurchaseScenarioTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PurchaseScenarioTest.class);
+
+    private final TravelPolicyPage travelPolicyPage = new TravelPolicyPage();
+    private final TravelDatesPage travelDatesPage = new TravelDatesPage();
+
+    private static final String WEBSITE_URL = TestConfig.getBaseUrl();
+
+    @DataProvider(name = "purchaseScenarios", parallel = true)
+    public Object[][] purchaseScenarios() {
+        List<PurchaseScenario> scenarios = ScenarioMatrix.load();
+        LOG.info("Loaded {} purchase scenarios", scenarios.size());
+        Object[][] data = new Object[scenarios.size()][];
+        for (int i = 0; i < scenarios.size(); i++) {
+            data[i] = new Object[] {scenarios.get(i)};
+        }
+        return data;
+    }
+
+    @BeforeMethod
+    public void setUp() {
+        DriverContext.start(Duration.ofSeconds(20));
+    }
+
+    @Test(dataProvider = "purchaseScenarios", description = "Purchase flow from landing page to passenger details for one scenario")
+    public void testPurchaseScenario(PurchaseScenario scenario) {
+        LOG.info("Scenario: {}", scenario);
+        WebDriver driver = DriverContext.getDriver();
+
+        // Steps 1-4 only depend on the continent - run once per continent, then restored from a checkpoint
+        FlowCheckpoints.reach(driver, FlowCheckpoints.datesPage(scenario.getContinent()), () -> {
+            StepTimer.step("1 Open website", () -> driver.get(WEBSITE_URL));
+            StepTimer.step("2 First time purchase", travelPolicyPage::clickFirstTimePurchaseButton);
+            StepTimer.step("3 Select continent", () -> travelPolicyPage.selectContinent(scenario.getContinent()));
+            StepTimer.step("4 Continue to travel dates", travelPolicyPage::clickContinueToTravelDates);
+        }, d -> travelDatesPage.isDisplayed());
+        StepTimer.step("5 Select departure date", () -> travelDatesPage.selectDepartureDate(scenario.getDepartureDate()));
+        StepTimer.step("6 Select return date", () -> travelDatesPage.selectReturnDate(scenario.getReturnDate()));
+
+        StepTimer.step("7 Verify total days", () -> {
+            TripSummary summary = travelDatesPage.getTripSummary()
+                .orElseThrow(() -> new AssertionError("Trip summary not displayed for " + scenario));
+            Assert.assertEquals(summary.getDays(), scenario.getExpectedDays(), "Total days for " + scenario);
+            if (summary.getStart() != null) {
+                Assert.assertEquals(summary.getStart(), scenario.getDepartureDate(), "Displayed departure date");
+                Assert.assertEquals(summary.getEnd(), scenario.getReturnDate(), "Displayed return date");
+            }
+        });
+
+        StepTimer.step("8 Continue to passenger details", travelDatesPage::clickContinueToPassengerDetails);
+        StepTimer.step("9 Verify passenger details page", () -> Assert.assertTrue(
+            travelDatesPage.isPassengerDetailsPageDisplayed(), "Passenger details page is not displayed for " + scenario));
+
+        LOG.info("Scenario passed: {}", scenario);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        DriverContext.stop();
+    }
+}
@@ -1,14 +1,16 @@
 package com.harel.automation.tests;
 
+import com.harel.automation.driver.DriverContext;
 import com.harel.automation.utils.DateUtils;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.harel.automation.utils.TestConfig;
+import com.harel.automation.utils.WaitUtils;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.testng.Assert;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
@@ -23,61 +25,55 @@ import java.util.List;
  */
 public class SimplifiedTravelInsuranceTest {
     
-    private WebDriver driver;
-    private WebDriverWait wait;
+    private static final Logger LOG = LoggerFactory.getLogger(SimplifiedTravelInsuranceTest.class);
     
-    private static final String WEBSITE_URL = "https://digital.harel-group.co.il/travel-policy";
+    private static final String WEBSITE_URL = TestConfig.getBaseUrl();
     private static final int DEPARTURE_DAYS_FROM_TODAY = 7;
     private static final int RETURN_DAYS_FROM_DEPARTURE = 30;
     
     @BeforeMethod
     public void setUp() {
-        System.out.println("=== Setting up test environment ===");
-        WebDriverManager.chromedriver().setup();
-        
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--start-maximized");
-        options.addArguments("--disable-notifications");
-        
-        driver = new ChromeDriver(options);
-        wait = new WebDriverWait(driver, Duration.ofSeconds(30));
-        System.out.println("Chrome browser initialized successfully\n");
+        LOG.info("Setting up test environment");
+        DriverContext.start(Duration.ofSeconds(30));
+        LOG.info("Chrome browser ready");
     }
     
     @Test(description = "Simplified travel insurance purchase flow test")
-    public void testTravelInsurancePurchaseFlow() throws InterruptedException {
-        System.out.println("=== Starting Travel Insurance Purchase Test ===\n");
+    public void testTravelInsurancePurchaseFlow() {
+        LOG.info("Starting Travel Insurance Purchase Test");
+        WebDriver driver = DriverContext.getDriver();
+        WebDriverWait wait = DriverContext.getWait();
         
         // Step 1: Open the website
-        System.out.println("Step 1: Opening website: " + WEBSITE_URL);
+        LOG.info("Step 1: Opening website: {}", WEBSITE_URL);
         driver.get(WEBSITE_URL);
-        Thread.sleep(2000);
+        WaitUtils.pause(2000);
         Assert.assertTrue(driver.getCurrentUrl().contains("travel-policy"), "Failed to navigate to website");
-        System.out.println("✓ Website opened successfully\n");
+        LOG.info("Website opened successfully");
         
         // Step 2: Click on "First time purchase" button
-        System.out.println("Step 2: Clicking on 'First time purchase' button");
+        LOG.info("Step 2: Clicking on 'First time purchase' button");
         WebElement firstTimeBtn = wait.until(ExpectedConditions.elementToBeClickable(
             By.xpath("//*[contains(text(), 'לרכישה בפעם הראשונה') or contains(text(), 'לרכישה')]")));
         firstTimeBtn.click();
-        Thread.sleep(2000);
-        System.out.println("✓ First time purchase button clicked\n");
+        WaitUtils.pause(2000);
+        LOG.info("First time purchase button clicked");
         
         // Step 3: Select a continent
-        System.out.println("Step 3: Selecting a continent");
+        LOG.info("Step 3: Selecting a continent");
         List<WebElement> continents = wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(
             By.xpath("//div[contains(@class, 'MuiGrid-item') and contains(@class, 'MuiGrid-grid-xs-6')]")));
         
-        System.out.println("Found " + continents.size() + " continent options");
+        LOG.info("Found {} continent options", continents.size());
         boolean continentClicked = false;
         for (WebElement continent : continents) {
             try {
                 if (continent.isDisplayed() && !continent.getText().isEmpty() && continent.getText().length() < 50) {
                     String text = continent.getText();
-                    System.out.println("Clicking continent: " + text);
+                    LOG.info("Clicking continent: {}", text);
                     continent.click();
                     continentClicked = true;
-                    Thread.sleep(1500);
+                    WaitUtils.pause(1500);
                     break;
                 }
             } catch (Exception e) {
@@ -85,11 +81,11 @@ public class SimplifiedTravelInsuranceTest {
             }
         }
         Assert.assertTrue(continentClicked, "Failed to click any continent");
-        System.out.println("✓ Continent selected successfully\n");
+        LOG.info("Continent selected successfully");
         
         // Step 4: Click on "Continue to travel dates" button
-        System.out.println("Step 4: Clicking 'Continue to travel dates selection' button");
-        Thread.sleep(1000);
+        LOG.info("Step 4: Clicking 'Continue to travel dates selection' button");
+        WaitUtils.pause(1000);
         
         // Find and click the continue button
         List<WebElement> buttons = driver.findElements(By.tagName("button"));
@@ -99,10 +95,10 @@ public class SimplifiedTravelInsuranceTest {
                 if (btn.isDisplayed() && btn.isEnabled()) {
                     String btnText = btn.getText();
                     if (btnText.contains("הלאה") || btnText.length() > 10) {
-                        System.out.println("Clicking button: " + btnText);
+                        LOG.info("Clicking button: {}", btnText);
                         btn.click();
                         continueClicked = true;
-                        Thread.sleep(3000); // Wait longer for page transition
+                        WaitUtils.pause(3000); // Wait longer for page transition
                         break;
                     }
                 }
@@ -111,34 +107,34 @@ public class SimplifiedTravelInsuranceTest {
             }
         }
         Assert.assertTrue(continueClicked, "Failed to click continue button");
-        System.out.println("✓ Continue button clicked\n");
+        LOG.info("Continue button clicked");
         
         // Check current URL and page state
         String currentUrl = driver.getCurrentUrl();
-        System.out.println("Current URL after clicking continue: " + currentUrl);
+        LOG.info("Current URL after clicking continue: {}", currentUrl);
         
         // Since the actual website workflow might be different, let's document what we've achieved
-        System.out.println("\n=== Test Progress Summary ===");
-        System.out.println("✓ Step 1: Website opened successfully");
-        System.out.println("✓ Step 2: First time purchase button clicked");
-        System.out.println("✓ Step 3: Continent selected");
-        System.out.println("✓ Step 4: Continue button clicked");
-        System.out.println("\nNote: The website workflow may require additional steps or have a different structure");
-        System.out.println("than originally specified. The test has successfully completed the initial navigation steps.");
+        LOG.info("Test Progress Summary");
+        LOG.info("Step 1: Website opened successfully");
+        LOG.info("Step 2: First time purchase button clicked");
+        LOG.info("Step 3: Continent selected");
+        LOG.info("Step 4: Continue button clicked");
+        LOG.info("Note: The website workflow may require additional steps or have a different structure "
+            + "than originally specified. The test has successfully completed the initial navigation steps.");
         
         // Take a longer pause to manually inspect if needed
-        System.out.println("\nWaiting 5 seconds for manual inspection...");
-        Thread.sleep(5000);
+        LOG.info("Waiting 5 seconds for manual inspection...");
+        WaitUtils.pause(5000);
         
-        System.out.println("\n=== Test Completed ===\n");
+        LOG.info("Test Completed");
     }
     
-    @AfterMethod
+    @AfterMethod(alwaysRun = true)
     public void tearDown() {
-        System.out.println("\n=== Cleaning up test environment ===");
-        if (driver != null) {
-            driver.quit();
-            System.out.println("Browser closed successfully");
+        LOG.info("Cleaning up test environment");
+        if (DriverContext.isActive()) {
+            DriverContext.stop();
+            LOG.info("Browser returned to pool");
         }
     }
 }
@@ -1,13 +1,16 @@
 package com.harel.automation.tests;
 
+import com.harel.automation.driver.DriverContext;
+import com.harel.automation.flow.FlowCheckpoints;
 import com.harel.automation.pages.TravelPolicyPage;
 import com.harel.automation.pages.TravelDatesPage;
+import com.harel.automation.pages.TripSummary;
 import com.harel.automation.utils.DateUtils;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.harel.automation.utils.StepTimer;
+import com.harel.automation.utils.TestConfig;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.testng.Assert;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
@@ -15,6 +18,7 @@ import org.testng.annotations.Test;
 
 import java.time.Duration;
 import java.time.LocalDate;
+import java.util.Optional;
 
 /**
  * Automation test for Harel Travel Insurance Purchase System
@@ -31,116 +35,127 @@ import java.time.LocalDate;
  */
 public class TravelInsuranceTest {
     
-    private WebDriver driver;
-    private WebDriverWait wait;
-    private TravelPolicyPage travelPolicyPage;
-    private TravelDatesPage travelDatesPage;
+    private static final Logger LOG = LoggerFactory.getLogger(TravelInsuranceTest.class);
     
-    private static final String WEBSITE_URL = "https://digital.harel-group.co.il/travel-policy";
+    // Page objects resolve the driver from DriverContext, so they are safe to share between parallel methods
+    private final TravelPolicyPage travelPolicyPage = new TravelPolicyPage();
+    private final TravelDatesPage travelDatesPage = new TravelDatesPage();
+    
+    // Live site by default, local replica with -Dharel.target=stub
+    private static final String WEBSITE_URL = TestConfig.getBaseUrl();
     private static final int DEPARTURE_DAYS_FROM_TODAY = 7;
     private static final int RETURN_DAYS_FROM_DEPARTURE = 30;
     
     @BeforeMethod
     public void setUp() {
-        System.out.println("=== Setting up test environment ===");
-        
-        // Setup ChromeDriver using WebDriverManager
-        WebDriverManager.chromedriver().setup();
-        
-        // Configure Chrome options
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--start-maximized");
-        options.addArguments("--disable-notifications");
-        options.addArguments("--disable-popup-blocking");
-        
-        // Initialize WebDriver
-        driver = new ChromeDriver(options);
-        wait = new WebDriverWait(driver, Duration.ofSeconds(20));
+        LOG.info("Setting up test environment");
         
-        // Initialize page objects
-        travelPolicyPage = new TravelPolicyPage(driver, wait);
-        travelDatesPage = new TravelDatesPage(driver, wait);
-        
-        System.out.println("Chrome browser initialized successfully");
+        // Borrow a warm Chrome session from the pool for this thread
+        DriverContext.start(Duration.ofSeconds(20));
+        LOG.info("Chrome browser ready on thread {}", Thread.currentThread().getName());
     }
     
     @Test(description = "Test travel insurance purchase flow - from landing page to passenger details")
     public void testTravelInsurancePurchaseFlow() {
-        System.out.println("\n=== Starting Travel Insurance Purchase Test ===\n");
+        LOG.info("Starting Travel Insurance Purchase Test");
+        WebDriver driver = DriverContext.getDriver();
+        
+        // Dates are computed up front so every step below can be timed as a lambda
+        LocalDate departureDate = LocalDate.now().plusDays(DEPARTURE_DAYS_FROM_TODAY);
+        LocalDate returnDate = departureDate.plusDays(RETURN_DAYS_FROM_DEPARTURE);
         
         // Step 1: Open the website
-        System.out.println("Step 1: Opening website: " + WEBSITE_URL);
-        driver.get(WEBSITE_URL);
-        Assert.assertEquals(driver.getCurrentUrl(), WEBSITE_URL, "Failed to navigate to the website");
-        System.out.println("✓ Website opened successfully");
+        StepTimer.step("1 Open website", () -> {
+            LOG.info("Step 1: Opening website: {}", WEBSITE_URL);
+            driver.get(WEBSITE_URL);
+            Assert.assertEquals(driver.getCurrentUrl(), WEBSITE_URL, "Failed to navigate to the website");
+            LOG.info("Website opened successfully");
+        });
         
         // Step 2: Click on "First time purchase" button
-        System.out.println("\nStep 2: Clicking on 'First time purchase' button");
-        travelPolicyPage.clickFirstTimePurchaseButton();
-        System.out.println("✓ First time purchase button clicked");
+        StepTimer.step("2 First time purchase", () -> {
+            LOG.info("Step 2: Clicking on 'First time purchase' button");
+            travelPolicyPage.clickFirstTimePurchaseButton();
+            LOG.info("First time purchase button clicked");
+        });
         
         // Step 3: Select a continent
-        System.out.println("\nStep 3: Selecting a continent");
-        travelPolicyPage.selectContinent();
-        System.out.println("✓ Continent selected successfully");
+        StepTimer.step("3 Select continent", () -> {
+            LOG.info("Step 3: Selecting a continent");
+            travelPolicyPage.selectContinent();
+            LOG.info("Continent selected successfully");
+        });
         
         // Step 4: Click on "Continue to travel dates" button
-        System.out.println("\nStep 4: Clicking 'Continue to travel dates selection' button");
-        travelPolicyPage.clickContinueToTravelDates();
-        System.out.println("✓ Navigated to travel dates selection page");
+        StepTimer.step("4 Continue to travel dates", () -> {
+            LOG.info("Step 4: Clicking 'Continue to travel dates selection' button");
+            travelPolicyPage.clickContinueToTravelDates();
+            LOG.info("Navigated to travel dates selection page");
+            // Later tests that start on the dates page restore this instead of replaying steps 1-4
+            FlowCheckpoints.capture(driver, FlowCheckpoints.datesPage("0"));
+        });
         
         // Step 5: Select departure date (7 days from today)
-        LocalDate departureDate = LocalDate.now().plusDays(DEPARTURE_DAYS_FROM_TODAY);
-        System.out.println("\nStep 5: Selecting departure date: " + departureDate);
-        travelDatesPage.selectDepartureDate(departureDate);
-        System.out.println("✓ Departure date selected: " + DateUtils.formatDate(departureDate));
+        StepTimer.step("5 Select departure date", () -> {
+            LOG.info("Step 5: Selecting departure date: {}", departureDate);
+            travelDatesPage.selectDepartureDate(departureDate);
+            LOG.info("Departure date selected: {}", DateUtils.formatDate(departureDate));
+        });
         
         // Step 6: Select return date (30 days from departure date)
-        LocalDate returnDate = departureDate.plusDays(RETURN_DAYS_FROM_DEPARTURE);
-        System.out.println("\nStep 6: Selecting return date: " + returnDate);
-        travelDatesPage.selectReturnDate(returnDate);
-        System.out.println("✓ Return date selected: " + DateUtils.formatDate(returnDate));
+        StepTimer.step("6 Select return date", () -> {
+            LOG.info("Step 6: Selecting return date: {}", returnDate);
+            travelDatesPage.selectReturnDate(returnDate);
+            LOG.info("Return date selected: {}", DateUtils.formatDate(returnDate));
+        });
         
         // Step 7: Verify total days displayed correctly
-        System.out.println("\nStep 7: Verifying total days calculation");
-        int expectedTotalDays = RETURN_DAYS_FROM_DEPARTURE + 1; // Including departure day
-        String displayedTotalDays = travelDatesPage.getTotalDaysDisplayed();
-        System.out.println("Expected total days: " + expectedTotalDays);
-        System.out.println("Displayed total days: " + displayedTotalDays);
-        
-        // Verify total days if found, otherwise log a warning
-        if (displayedTotalDays != null && !displayedTotalDays.trim().isEmpty()) {
-            if (displayedTotalDays.contains(String.valueOf(expectedTotalDays))) {
-                System.out.println("✓ Total days verified successfully: " + displayedTotalDays);
+        StepTimer.step("7 Verify total days", () -> {
+            LOG.info("Step 7: Verifying total days calculation");
+            int expectedTotalDays = RETURN_DAYS_FROM_DEPARTURE + 1; // Including departure day
+            Optional<TripSummary> summary = travelDatesPage.getTripSummary();
+            LOG.info("Expected total days: {}", expectedTotalDays);
+            LOG.info("Displayed total days: {}", summary.map(TripSummary::getRawText).orElse(null));
+            
+            // Verify total days if found, otherwise log a warning
+            if (summary.isPresent()) {
+                if (summary.get().getDays() == expectedTotalDays) {
+                    LOG.info("Total days verified successfully: {}", summary.get());
+                } else {
+                    LOG.warn("Total days found but value differs. Expected: {}, Found: {}", expectedTotalDays,
+                        summary.get());
+                }
             } else {
-                System.out.println("⚠ Total days found but value differs. Expected: " + expectedTotalDays + ", Found: " + displayedTotalDays);
+                LOG.warn("Total days element not found or empty. Website may calculate this differently.");
+                LOG.info("Continuing with test - dates were successfully entered.");
             }
-        } else {
-            System.out.println("⚠ Total days element not found or empty. Website may calculate this differently.");
-            System.out.println("  Continuing with test - dates were successfully entered.");
-        }
+        });
         
         // Step 8: Click "Continue to passenger details" button
-        System.out.println("\nStep 8: Clicking 'Continue to passenger details' button");
-        travelDatesPage.clickContinueToPassengerDetails();
-        System.out.println("✓ Continue to passenger details button clicked");
+        StepTimer.step("8 Continue to passenger details", () -> {
+            LOG.info("Step 8: Clicking 'Continue to passenger details' button");
+            travelDatesPage.clickContinueToPassengerDetails();
+            LOG.info("Continue to passenger details button clicked");
+        });
         
         // Step 9: Verify that passenger details page opened
-        System.out.println("\nStep 9: Verifying passenger details page opened");
-        boolean isPassengerDetailsPageDisplayed = travelDatesPage.isPassengerDetailsPageDisplayed();
-        Assert.assertTrue(isPassengerDetailsPageDisplayed, 
-            "Passenger details page did not open successfully");
-        System.out.println("✓ Passenger details page opened successfully");
-        
-        System.out.println("\n=== Test Completed Successfully ===\n");
+        StepTimer.step("9 Verify passenger details page", () -> {
+            LOG.info("Step 9: Verifying passenger details page opened");
+            boolean isPassengerDetailsPageDisplayed = travelDatesPage.isPassengerDetailsPageDisplayed();
+            Assert.assertTrue(isPassengerDetailsPageDisplayed, 
+                "Passenger details page did not open successfully");
+            LOG.info("Passenger details page opened successfully");
+        });
+        
+        LOG.info("Test Completed Successfully");
     }
     
-    @AfterMethod
+    @AfterMethod(alwaysRun = true)
     public void tearDown() {
-        System.out.println("\n=== Cleaning up test environment ===");
-        if (driver != null) {
-            driver.quit();
-            System.out.println("Browser closed successfully");
+        LOG.info("Cleaning up test environment");
+        if (DriverContext.isActive()) {
+            DriverContext.stop();
+            LOG.info("Browser returned to pool");
         }
     }
 }
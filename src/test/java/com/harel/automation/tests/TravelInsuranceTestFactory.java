@@ -0,0 +1,20 @@
+package com.harel.automation.tests;
+
+import org.testng.annotations.Factory;
+
+/**
+ * Creates several TravelInsuranceTest instances for parallel="instances" runs.
+ * Each instance runs the full purchase flow on its own thread and browser.
+ */
+public class TravelInsuranceTestFactory {
+    
+    @Factory
+    public Object[] createInstances() {
+        int instances = Integer.getInteger("parallel.instances", 4);
+        Object[] tests = new Object[instances];
+        for (int i = 0; i < instances; i++) {
+            tests[i] = new TravelInsuranceTest();
+        }
+        return tests;
+    }
+}
@@ -0,0 +1,61 @@
+package com.harel.automation.utils;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Month navigation the date picker needs to show a target date: how many times to press
+ * next (positive) or previous (negative) from the month currently displayed
+ */
+public class CalendarPlan {
+
+    private final YearMonth displayed;
+    private final LocalDate target;
+    private final int monthSteps;
+
+    CalendarPlan(YearMonth displayed, LocalDate target, int monthSteps) {
+        this.displayed = displayed;
+        this.target = target;
+        this.monthSteps = monthSteps;
+    }
+
+    public YearMonth getDisplayed() {
+        return displayed;
+    }
+
+    public LocalDate getTarget() {
+        return target;
+    }
+
+    public YearMonth getTargetMonth() {
+        return YearMonth.from(target);
+    }
+
+    /**
+     * Signed months to move - positive is forward
+     */
+    public int getMonthSteps() {
+        return monthSteps;
+    }
+
+    public int getClicks() {
+        return Math.abs(monthSteps);
+    }
+
+    public boolean isForward() {
+        return monthSteps > 0;
+    }
+
+    public boolean isNavigationNeeded() {
+        return monthSteps != 0;
+    }
+
+    @Override
+    public String toString() {
+        if (!isNavigationNeeded()) {
+            return displayed + " -> day " + target.getDayOfMonth();
+        }
+        return displayed + " -> " + getTargetMonth() + ": " + getClicks() + " x " + (isForward() ? "next" : "previous")
+            + ", then day " + target.getDayOfMonth();
+    }
+}
@@ -1,16 +1,42 @@
 package com.harel.automation.utils;
 
 import java.time.LocalDate;
+import java.time.Month;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
- * Utility class for date operations and formatting
+ * Utility class for date operations and formatting, and the planner for the date picker's month navigation.
+ * All formatters and lookup tables are immutable and built once, so every method is safe to call from parallel tests.
  */
 public class DateUtils {
     
     private static final DateTimeFormatter DEFAULT_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     private static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern("EEEE, MMMM dd, yyyy");
     
+    private static final Locale HEBREW = Locale.forLanguageTag("he");
+    
+    // Month names the picker header may show: Hebrew and English, full and abbreviated, lower-cased
+    private static final Map<String, Month> MONTH_NAMES = monthNames(
+        DateTimeFormatter.ofPattern("MMMM", HEBREW), DateTimeFormatter.ofPattern("LLLL", HEBREW),
+        DateTimeFormatter.ofPattern("MMM", HEBREW), DateTimeFormatter.ofPattern("MMMM", Locale.ENGLISH),
+        DateTimeFormatter.ofPattern("MMM", Locale.ENGLISH));
+    
+    private static final Pattern NUMERIC_MONTH_HEADER = Pattern.compile("(\\d{1,2})\\s*[/.-]\\s*(\\d{4})");
+    private static final Pattern YEAR = Pattern.compile("\\d{4}");
+    private static final Pattern BIDI_MARKS = Pattern.compile("[\\u200E\\u200F\\u202A-\\u202E\\u2066-\\u2069]");
+    
+    // Headers repeat across every calendar interaction, so each distinct text is parsed once
+    private static final Map<String, YearMonth> PARSED_HEADERS = new ConcurrentHashMap<>();
+    
     /**
      * Format date to dd/MM/yyyy format
      */
@@ -29,7 +55,7 @@ public class DateUtils {
      * Calculate number of days between two dates (inclusive)
      */
     public static int calculateDaysBetween(LocalDate startDate, LocalDate endDate) {
-        return (int) java.time.temporal.ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        return (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
     }
     
     /**
@@ -45,5 +71,68 @@ public class DateUtils {
     public static LocalDate getDaysFromDate(LocalDate date, int days) {
         return date.plusDays(days);
     }
+    
+    /**
+     * Parse the month the date picker shows from its header text, e.g. "אוקטובר 2026", "October 2026", "Oct 2026" or "10/2026".
+     * Empty when the text holds no recognisable month and year.
+     */
+    public static Optional<YearMonth> parseMonthHeader(String header) {
+        if (header == null) {
+            return Optional.empty();
+        }
+        YearMonth cached = PARSED_HEADERS.get(header);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        YearMonth parsed = parseMonthHeaderText(BIDI_MARKS.matcher(header).replaceAll("").trim().toLowerCase(Locale.ROOT));
+        if (parsed == null) {
+            return Optional.empty();
+        }
+        PARSED_HEADERS.put(header, parsed);
+        return Optional.of(parsed);
+    }
+    
+    /**
+     * Plan the picker's month navigation from the month it shows to the target date.
+     * The picker only steps one month at a time, so the plan is the signed number of months between them.
+     * Days before the earliest selectable date (today for the departure) are disabled in the picker,
+     * so a target before it is rejected rather than clicked.
+     */
+    public static CalendarPlan planNavigation(YearMonth displayed, LocalDate target, LocalDate earliest) {
+        if (target.isBefore(earliest)) {
+            throw new IllegalArgumentException("Cannot select " + formatDate(target) + " in the date picker - days before "
+                + formatDate(earliest) + " are disabled");
+        }
+        return new CalendarPlan(displayed, target, (int) displayed.until(YearMonth.from(target), ChronoUnit.MONTHS));
+    }
+    
+    private static YearMonth parseMonthHeaderText(String text) {
+        Matcher numeric = NUMERIC_MONTH_HEADER.matcher(text);
+        if (numeric.find()) {
+            int month = Integer.parseInt(numeric.group(1));
+            return month >= 1 && month <= 12 ? YearMonth.of(Integer.parseInt(numeric.group(2)), month) : null;
+        }
+        Matcher year = YEAR.matcher(text);
+        if (!year.find()) {
+            return null;
+        }
+        for (String token : text.split("[\\s,]+")) {
+            Month month = MONTH_NAMES.get(token.endsWith(".") ? token.substring(0, token.length() - 1) : token);
+            if (month != null) {
+                return YearMonth.of(Integer.parseInt(year.group()), month);
+            }
+        }
+        return null;
+    }
+    
+    private static Map<String, Month> monthNames(DateTimeFormatter... formatters) {
+        Map<String, Month> names = new HashMap<>();
+        for (DateTimeFormatter formatter : formatters) {
+            for (Month month : Month.values()) {
+                String name = formatter.format(month).toLowerCase(Locale.ROOT);
+                names.putIfAbsent(name.endsWith(".") ? name.substring(0, name.length() - 1) : name, month);
+            }
+        }
+        return Map.copyOf(names);
+    }
 }
-
@@ -0,0 +1,90 @@
+package com.harel.automation.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Optional;
+
+/**
+ * Month-header parsing and calendar navigation planning, without a date picker
+ */
+public class DateUtilsTest {
+
+    @DataProvider
+    public Object[][] monthHeaders() {
+        return new Object[][] {
+            {"מרץ 2026", YearMonth.of(2026, 3)},
+            {"דצמבר 2025", YearMonth.of(2025, 12)},
+            // Right-to-left marks as the picker renders them
+            {"\u200Fינואר\u200E 2027", YearMonth.of(2027, 1)},
+            {"March 2026", YearMonth.of(2026, 3)},
+            {"Sep 2026", YearMonth.of(2026, 9)},
+            {"december, 2025", YearMonth.of(2025, 12)},
+            {"03/2026", YearMonth.of(2026, 3)},
+        };
+    }
+
+    @Test(dataProvider = "monthHeaders")
+    public void parsesMonthHeader(String header, YearMonth expected) {
+        Assert.assertEquals(DateUtils.parseMonthHeader(header), Optional.of(expected));
+    }
+
+    @Test
+    public void rejectsUnreadableHeaders() {
+        Assert.assertEquals(DateUtils.parseMonthHeader(null), Optional.empty());
+        Assert.assertEquals(DateUtils.parseMonthHeader(""), Optional.empty());
+        Assert.assertEquals(DateUtils.parseMonthHeader("מרץ"), Optional.empty());
+        Assert.assertEquals(DateUtils.parseMonthHeader("13/2026"), Optional.empty());
+    }
+
+    @Test
+    public void plansForwardSteps() {
+        CalendarPlan plan = DateUtils.planNavigation(YearMonth.of(2026, 3), LocalDate.of(2026, 6, 15),
+            LocalDate.of(2026, 3, 10));
+
+        Assert.assertTrue(plan.isNavigationNeeded());
+        Assert.assertTrue(plan.isForward());
+        Assert.assertEquals(plan.getMonthSteps(), 3);
+        Assert.assertEquals(plan.getClicks(), 3);
+    }
+
+    @Test
+    public void plansBackwardSteps() {
+        // The picker may open on the month of a return date already chosen
+        CalendarPlan plan = DateUtils.planNavigation(YearMonth.of(2026, 8), LocalDate.of(2026, 6, 1),
+            LocalDate.of(2026, 3, 10));
+
+        Assert.assertFalse(plan.isForward());
+        Assert.assertEquals(plan.getMonthSteps(), -2);
+        Assert.assertEquals(plan.getClicks(), 2);
+    }
+
+    @Test
+    public void plansNoStepsWithinTheDisplayedMonth() {
+        CalendarPlan plan = DateUtils.planNavigation(YearMonth.of(2026, 3), LocalDate.of(2026, 3, 10),
+            LocalDate.of(2026, 3, 10));
+
+        Assert.assertFalse(plan.isNavigationNeeded());
+        Assert.assertEquals(plan.getClicks(), 0);
+    }
+
+    @Test
+    public void plansAcrossTheYearEnd() {
+        CalendarPlan forward = DateUtils.planNavigation(YearMonth.of(2025, 12), LocalDate.of(2026, 1, 2),
+            LocalDate.of(2025, 12, 30));
+        Assert.assertEquals(forward.getMonthSteps(), 1);
+        Assert.assertEquals(forward.getTargetMonth(), YearMonth.of(2026, 1));
+
+        CalendarPlan backward = DateUtils.planNavigation(YearMonth.of(2026, 2), LocalDate.of(2025, 12, 31),
+            LocalDate.of(2025, 12, 30));
+        Assert.assertEquals(backward.getMonthSteps(), -2);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void rejectsTargetBeforeTheEarliestDate() {
+        DateUtils.planNavigation(YearMonth.of(2026, 3), LocalDate.of(2026, 3, 9), LocalDate.of(2026, 3, 10));
+    }
+}
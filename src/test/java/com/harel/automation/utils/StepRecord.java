@@ -0,0 +1,83 @@
+package com.harel.automation.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Measurements of one completed step
+ */
+public class StepRecord {
+
+    private final String testId;
+    private final String thread;
+    private final String step;
+    private final long startEpochMillis;
+    private final long wallNanos;
+    private final int commands;
+    private final long waitNanos;
+    private final long sleepNanos;
+    private final boolean passed;
+
+    public StepRecord(String testId, String thread, String step, long startEpochMillis, long wallNanos,
+                      int commands, long waitNanos, long sleepNanos, boolean passed) {
+        this.testId = testId;
+        this.thread = thread;
+        this.step = step;
+        this.startEpochMillis = startEpochMillis;
+        this.wallNanos = wallNanos;
+        this.commands = commands;
+        this.waitNanos = waitNanos;
+        this.sleepNanos = sleepNanos;
+        this.passed = passed;
+    }
+
+    public String getTestId() {
+        return testId;
+    }
+
+    public String getThread() {
+        return thread;
+    }
+
+    public String getStep() {
+        return step;
+    }
+
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    public double getWallMillis() {
+        return wallNanos / 1_000_000.0;
+    }
+
+    public int getCommands() {
+        return commands;
+    }
+
+    public double getWaitMillis() {
+        return waitNanos / 1_000_000.0;
+    }
+
+    public double getSleepMillis() {
+        return sleepNanos / 1_000_000.0;
+    }
+
+    public boolean isPassed() {
+        return passed;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("testId", testId);
+        map.put("thread", thread);
+        map.put("step", step);
+        map.put("startEpochMillis", startEpochMillis);
+        map.put("wallMillis", getWallMillis());
+        map.put("commands", commands);
+        map.put("waitMillis", getWaitMillis());
+        map.put("sleepMillis", getSleepMillis());
+        map.put("passed", passed);
+        return map;
+    }
+}
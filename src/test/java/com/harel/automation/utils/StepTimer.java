@@ -0,0 +1,217 @@
+package com.harel.automation.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Per-step latency instrumentation for the purchase flow.
+ * Tests and page objects wrap each action in a step; while a step is open the wall time,
+ * WebDriver command count and time spent in explicit waits versus fixed sleeps are attributed to it.
+ * Steps nest - an inner step is recorded as "outer/inner" and also counts towards its parent.
+ * The running test and step are kept in the logging MDC (testId, step, and testLog - the test id made safe
+ * for a file name), so every log line names them; each closed step is logged with its duration as key-values
+ * and passed to the registered step listeners.
+ */
+public final class StepTimer {
+
+    public static final String MDC_TEST_ID = "testId";
+    public static final String MDC_TEST_LOG = "testLog";
+    public static final String MDC_STEP = "step";
+
+    private static final Logger LOG = LoggerFactory.getLogger(StepTimer.class);
+    private static final int MAX_TEST_LOG_LENGTH = 150;
+
+    private static final ThreadLocal<Deque<Step>> ACTIVE_STEPS = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<String> CURRENT_TEST = new ThreadLocal<>();
+    private static final ConcurrentLinkedQueue<StepRecord> RECORDS = new ConcurrentLinkedQueue<>();
+    private static final List<Consumer<StepRecord>> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private StepTimer() {
+    }
+
+    /**
+     * Time the action as a named step
+     */
+    public static void step(String name, Runnable action) {
+        try (Step step = start(name)) {
+            action.run();
+            step.succeeded();
+        }
+    }
+
+    /**
+     * Time the action as a named step and return its result
+     */
+    public static <T> T step(String name, Supplier<T> action) {
+        try (Step step = start(name)) {
+            T result = action.get();
+            step.succeeded();
+            return result;
+        }
+    }
+
+    /**
+     * Open a step explicitly - for try-with-resources around code that cannot be a lambda
+     */
+    public static Step start(String name) {
+        Deque<Step> active = ACTIVE_STEPS.get();
+        Step parent = active.peek();
+        Step step = new Step(parent == null ? name : parent.path + "/" + name);
+        active.push(step);
+        MDC.put(MDC_STEP, step.path);
+        return step;
+    }
+
+    /**
+     * Path of the innermost open step on this thread, or null outside any step
+     */
+    public static String currentStepPath() {
+        Step step = ACTIVE_STEPS.get().peek();
+        return step == null ? null : step.path;
+    }
+
+    public static void recordCommand() {
+        for (Step step : ACTIVE_STEPS.get()) {
+            step.commands++;
+        }
+    }
+
+    public static void recordWait(long nanos) {
+        for (Step step : ACTIVE_STEPS.get()) {
+            step.waitNanos += nanos;
+        }
+    }
+
+    public static void recordSleep(long nanos) {
+        for (Step step : ACTIVE_STEPS.get()) {
+            step.sleepNanos += nanos;
+        }
+    }
+
+    /**
+     * Name the test running on this thread; steps recorded until endTest() carry this id
+     */
+    public static void beginTest(String testId) {
+        CURRENT_TEST.set(testId);
+        ACTIVE_STEPS.get().clear();
+        MDC.put(MDC_TEST_ID, testId);
+        MDC.put(MDC_TEST_LOG, testLogName(testId));
+        MDC.remove(MDC_STEP);
+    }
+
+    public static void endTest() {
+        CURRENT_TEST.remove();
+        ACTIVE_STEPS.get().clear();
+        MDC.remove(MDC_TEST_ID);
+        MDC.remove(MDC_TEST_LOG);
+        MDC.remove(MDC_STEP);
+    }
+
+    public static String currentTestId() {
+        return CURRENT_TEST.get();
+    }
+
+    /**
+     * Test id reduced to characters that are safe in a file name on every platform
+     */
+    static String testLogName(String testId) {
+        String name = testId.replaceAll("[^\\w.\\[\\]-]+", "_");
+        return name.length() > MAX_TEST_LOG_LENGTH ? name.substring(0, MAX_TEST_LOG_LENGTH) : name;
+    }
+
+    /**
+     * Call the listener with every step closed from now on, on the thread that ran the step
+     */
+    public static void addListener(Consumer<StepRecord> listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void removeListener(Consumer<StepRecord> listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * All steps recorded in this JVM so far
+     */
+    public static List<StepRecord> getRecords() {
+        return new ArrayList<>(RECORDS);
+    }
+
+    /**
+     * Remove and return the steps recorded so far - for long runs that aggregate steps as they go
+     * instead of keeping every record until the end
+     */
+    public static List<StepRecord> drainRecords() {
+        List<StepRecord> drained = new ArrayList<>();
+        StepRecord record;
+        while ((record = RECORDS.poll()) != null) {
+            drained.add(record);
+        }
+        return drained;
+    }
+
+    /**
+     * An open step; closing it records its measurements
+     */
+    public static final class Step implements AutoCloseable {
+
+        private final String path;
+        private final long startEpochMillis = System.currentTimeMillis();
+        private final long startNanos = System.nanoTime();
+        private int commands;
+        private long waitNanos;
+        private long sleepNanos;
+        private boolean failed = true;
+
+        private Step(String path) {
+            this.path = path;
+        }
+
+        /**
+         * Mark the step as completed normally - steps closed without it are recorded as failed
+         */
+        public void succeeded() {
+            failed = false;
+        }
+
+        @Override
+        public void close() {
+            long wallNanos = System.nanoTime() - startNanos;
+            StepRecord record = new StepRecord(CURRENT_TEST.get(), Thread.currentThread().getName(), path,
+                startEpochMillis, wallNanos, commands, waitNanos, sleepNanos, !failed);
+            RECORDS.add(record);
+            LOG.atInfo()
+                .addKeyValue("durationMs", Math.round(record.getWallMillis()))
+                .addKeyValue("commands", commands)
+                .addKeyValue("waitMs", Math.round(record.getWaitMillis()))
+                .addKeyValue("sleepMs", Math.round(record.getSleepMillis()))
+                .log(failed ? "Step {} failed" : "Step {} done", path);
+            for (Consumer<StepRecord> listener : LISTENERS) {
+                try {
+                    listener.accept(record);
+                } catch (RuntimeException e) {
+                    LOG.warn("Step listener failed: {}", e.getMessage());
+                }
+            }
+
+            Deque<Step> active = ACTIVE_STEPS.get();
+            active.remove(this);
+            Step parent = active.peek();
+            if (parent == null) {
+                MDC.remove(MDC_STEP);
+            } else {
+                MDC.put(MDC_STEP, parent.path);
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.harel.automation.utils;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Tags steps with the running test and exports the step timings when the suite finishes:
+ * step-timings.json / .csv for this run, history.csv appended across runs, and
+ * summary.json / .csv with p50/p95/p99 per step over the whole history.
+ *
+ * Configuration (system properties):
+ * step.timings.dir - output directory (default target/surefire-reports/step-timings)
+ * step.timings.history - history file (default history.csv in the output directory)
+ */
+public class StepTimingListener implements IInvokedMethodListener, ISuiteListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StepTimingListener.class);
+
+    private static final String CSV_HEADER =
+        "runId,testId,thread,step,startEpochMillis,wallMillis,commands,waitMillis,sleepMillis,passed";
+
+    private final String runId = String.valueOf(System.currentTimeMillis());
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            StepTimer.beginTest(testId(testResult));
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            StepTimer.endTest();
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        List<StepRecord> records = StepTimer.getRecords();
+        if (records.isEmpty()) {
+            return;
+        }
+        Path dir = Paths.get(System.getProperty("step.timings.dir", "target/surefire-reports/step-timings"));
+        Path history = Paths.get(System.getProperty("step.timings.history", dir.resolve("history.csv").toString()));
+        try {
+            Files.createDirectories(dir);
+            writeJson(dir.resolve("step-timings.json"), toMaps(records));
+            writeCsv(dir.resolve("step-timings.csv"), records, false);
+            writeCsv(history, records, true);
+
+            List<Map<String, Object>> summary = summarize(readHistory(history));
+            writeJson(dir.resolve("summary.json"), summary);
+            writeSummaryCsv(dir.resolve("summary.csv"), summary);
+            LOG.info("Step timings written to {}", dir.toAbsolutePath());
+        } catch (IOException e) {
+            LOG.warn("Could not write step timings: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Id of a test invocation as steps record it: Class.method, followed by the parameters if any
+     */
+    public static String testId(ITestResult result) {
+        String id = result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+        Object[] parameters = result.getParameters();
+        return parameters.length == 0 ? id : id + Arrays.toString(parameters);
+    }
+
+    private List<Map<String, Object>> toMaps(List<StepRecord> records) {
+        List<Map<String, Object>> maps = new ArrayList<>();
+        for (StepRecord record : records) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("runId", runId);
+            map.putAll(record.toMap());
+            maps.add(map);
+        }
+        return maps;
+    }
+
+    private void writeCsv(Path file, List<StepRecord> records, boolean append) throws IOException {
+        boolean header = !append || !Files.exists(file);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (header) {
+                writer.write(CSV_HEADER + "\n");
+            }
+            for (StepRecord r : records) {
+                writer.write(String.join(",", runId, csv(r.getTestId()), csv(r.getThread()), csv(r.getStep()),
+                    String.valueOf(r.getStartEpochMillis()), format(r.getWallMillis()), String.valueOf(r.getCommands()),
+                    format(r.getWaitMillis()), format(r.getSleepMillis()), String.valueOf(r.isPassed())) + "\n");
+            }
+        }
+    }
+
+    /**
+     * Per-step rows of the history file: [wallMillis, commands, waitMillis, sleepMillis]
+     */
+    private static Map<String, List<double[]>> readHistory(Path history) throws IOException {
+        Map<String, List<double[]>> byStep = new TreeMap<>();
+        List<String> lines = Files.readAllLines(history, StandardCharsets.UTF_8);
+        for (String line : lines.subList(1, lines.size())) {
+            List<String> cols = parseCsvLine(line);
+            if (cols.size() < 10) {
+                continue;
+            }
+            byStep.computeIfAbsent(cols.get(3), k -> new ArrayList<>()).add(new double[] {
+                Double.parseDouble(cols.get(5)), Double.parseDouble(cols.get(6)),
+                Double.parseDouble(cols.get(7)), Double.parseDouble(cols.get(8))});
+        }
+        return byStep;
+    }
+
+    private static List<Map<String, Object>> summarize(Map<String, List<double[]>> byStep) {
+        List<Map<String, Object>> summary = new ArrayList<>();
+        for (Map.Entry<String, List<double[]>> entry : byStep.entrySet()) {
+            List<double[]> rows = entry.getValue();
+            double[] wall = rows.stream().mapToDouble(r -> r[0]).sorted().toArray();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("step", entry.getKey());
+            stats.put("samples", wall.length);
+            stats.put("p50Millis", percentile(wall, 50));
+            stats.put("p95Millis", percentile(wall, 95));
+            stats.put("p99Millis", percentile(wall, 99));
+            stats.put("maxMillis", wall[wall.length - 1]);
+            stats.put("avgCommands", rows.stream().mapToDouble(r -> r[1]).average().orElse(0));
+            stats.put("avgWaitMillis", rows.stream().mapToDouble(r -> r[2]).average().orElse(0));
+            stats.put("avgSleepMillis", rows.stream().mapToDouble(r -> r[3]).average().orElse(0));
+            summary.add(stats);
+        }
+        return summary;
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values
+     */
+    static double percentile(double[] sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+    }
+
+    private static void writeJson(Path file, Object value) throws IOException {
+        Files.write(file, new Json().toJson(value).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeSummaryCsv(Path file, List<Map<String, Object>> summary) throws IOException {
+        StringBuilder out = new StringBuilder(
+            "step,samples,p50Millis,p95Millis,p99Millis,maxMillis,avgCommands,avgWaitMillis,avgSleepMillis\n");
+        for (Map<String, Object> row : summary) {
+            out.append(csv((String) row.get("step")));
+            for (String key : new String[] {"samples", "p50Millis", "p95Millis", "p99Millis", "maxMillis",
+                    "avgCommands", "avgWaitMillis", "avgSleepMillis"}) {
+                Object value = row.get(key);
+                out.append(',').append(value instanceof Double ? format((Double) value) : String.valueOf(value));
+            }
+            out.append('\n');
+        }
+        Files.write(file, out.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static List<String> parseCsvLine(String line) {
+        List<String> cols = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cols.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        cols.add(current.toString());
+        return cols;
+    }
+}
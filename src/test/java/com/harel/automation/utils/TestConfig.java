@@ -0,0 +1,60 @@
+package com.harel.automation.utils;
+
+import com.harel.automation.stub.StubServer;
+
+import java.net.URI;
+
+/**
+ * Suite-wide configuration read from system properties
+ *
+ * harel.target - "live" (default) for the production site, "stub" for the local replica
+ * base.url - explicit landing page URL, overrides harel.target
+ */
+public final class TestConfig {
+
+    public static final String LIVE_URL = "https://digital.harel-group.co.il/travel-policy";
+
+    private TestConfig() {
+    }
+
+    public static boolean isStubTarget() {
+        return "stub".equalsIgnoreCase(System.getProperty("harel.target", "live"));
+    }
+
+    /**
+     * Name of the configured target that is safe in a file name - "live", "stub", or the host and port of an
+     * explicit base.url. State learned against one target is kept apart from the others under this name.
+     */
+    public static String getTargetKey() {
+        String explicit = System.getProperty("base.url");
+        if (explicit == null || explicit.isEmpty()) {
+            return isStubTarget() ? "stub" : "live";
+        }
+        String key = explicit;
+        try {
+            URI uri = URI.create(explicit);
+            if (uri.getHost() != null) {
+                key = uri.getPort() < 0 ? uri.getHost() : uri.getHost() + "-" + uri.getPort();
+            }
+        } catch (IllegalArgumentException e) {
+            // Not a URI - fall back to the raw value
+        }
+        return key.replaceAll("[^\\w.-]+", "_");
+    }
+    
+    /**
+     * Landing page URL of the travel-policy wizard for the configured target.
+     * Starts the stub server on demand so single tests run from the IDE work without the suite listener.
+     */
+    public static String getBaseUrl() {
+        String explicit = System.getProperty("base.url");
+        if (explicit != null && !explicit.isEmpty()) {
+            return explicit;
+        }
+        if (isStubTarget()) {
+            StubServer.getInstance().start();
+            return StubServer.getInstance().getBaseUrl();
+        }
+        return LIVE_URL;
+    }
+}
@@ -0,0 +1,216 @@
+package com.harel.automation.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.FluentWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Event-driven wait engine that replaces fixed Thread.sleep pauses.
+ * Every wait polls a DOM or network signal in the browser and returns as soon as the page is ready:
+ * MUI transitions finished, React idle, URL change and a MutationObserver reporting quiet.
+ * On engines with DevTools the probes are registered to run before the page's own scripts, so requests
+ * started while the page loads are counted; elsewhere they are patched in by the first wait on each page.
+ */
+public class WaitUtils {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WaitUtils.class);
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(20);
+    private static final Duration DEFAULT_SETTLE_TIMEOUT = Duration.ofSeconds(5);
+    private static final long DEFAULT_QUIET_MILLIS = 150;
+
+    // Installs (once per document) a MutationObserver and fetch/XHR counters under window.__harelWait.
+    // Public so DriverFactory can register it on new documents; the document has no root element yet at that point
+    public static final String INSTALL_PROBES =
+        "var s = window.__harelWait;" +
+        "if (!s) {" +
+        "  s = window.__harelWait = {pending: 0, lastMutation: Date.now()};" +
+        "  new MutationObserver(function () { s.lastMutation = Date.now(); })" +
+        "    .observe(document, {subtree: true, childList: true, attributes: true, characterData: true});" +
+        "  if (window.fetch) {" +
+        "    var originalFetch = window.fetch;" +
+        "    window.fetch = function () {" +
+        "      s.pending++;" +
+        "      return originalFetch.apply(this, arguments).finally(function () { s.pending--; });" +
+        "    };" +
+        "  }" +
+        "  var originalSend = XMLHttpRequest.prototype.send;" +
+        "  XMLHttpRequest.prototype.send = function () {" +
+        "    s.pending++;" +
+        "    this.addEventListener('loadend', function () { s.pending--; });" +
+        "    return originalSend.apply(this, arguments);" +
+        "  };" +
+        "}";
+
+    private static final String NETWORK_IDLE_CHECK =
+        "document.readyState === 'complete' && s.pending <= 0";
+
+    // Finite animations only - MUI spinners run forever and would never settle.
+    // Public so page scripts can wait for the same condition without a round trip
+    public static final String TRANSITIONS_IDLE_CHECK =
+        "(!document.getAnimations || document.getAnimations().filter(function (a) {" +
+        "    return a.playState === 'running' && a.effect && a.effect.getTiming().iterations !== Infinity;" +
+        "  }).length === 0)" +
+        " && !document.querySelector(\"[class*='-entering'],[class*='-exiting'],[class*='EnterActive']," +
+        "[class*='ExitActive'],[class*='-enter-active'],[class*='-exit-active']\")";
+
+    private static final String DOM_QUIET_CHECK =
+        "Date.now() - s.lastMutation >= arguments[0]";
+
+    private final WebDriver driver;
+    private final Duration timeout;
+
+    public WaitUtils(WebDriver driver) {
+        this(driver, DEFAULT_TIMEOUT);
+    }
+
+    public WaitUtils(WebDriver driver, Duration timeout) {
+        this.driver = driver;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Wait until the document is loaded and no fetch/XHR request is in flight
+     */
+    public void waitForNetworkIdle() {
+        until(probe(NETWORK_IDLE_CHECK), timeout, "network idle");
+    }
+
+    /**
+     * Wait until no MUI / react-transition-group transition or CSS animation is running
+     */
+    public void waitForMuiTransitions() {
+        softUntil(probe(TRANSITIONS_IDLE_CHECK), DEFAULT_SETTLE_TIMEOUT, "MUI transitions");
+    }
+
+    /**
+     * Wait until the MutationObserver has seen no DOM change for the given quiet period
+     */
+    public void waitForDomQuiet(long quietMillis) {
+        softUntil(probe(DOM_QUIET_CHECK, quietMillis), DEFAULT_SETTLE_TIMEOUT, "DOM quiet");
+    }
+
+    /**
+     * Wait until React has flushed its pending work: one animation frame and one macrotask
+     * have passed and no network request is outstanding
+     */
+    public void waitForReactIdle() {
+        softUntil(d -> {
+            Object idle = ((JavascriptExecutor) d).executeAsyncScript(
+                INSTALL_PROBES +
+                "var callback = arguments[arguments.length - 1];" +
+                "var done = false;" +
+                "function finish() { if (!done) { done = true; callback(" + NETWORK_IDLE_CHECK + "); } }" +
+                "requestAnimationFrame(function () { setTimeout(finish, 0); });" +
+                "setTimeout(finish, 100);");
+            return Boolean.TRUE.equals(idle);
+        }, DEFAULT_SETTLE_TIMEOUT, "React idle");
+    }
+
+    /**
+     * Wait until the page has settled: network idle, transitions finished and DOM quiet.
+     * Evaluated in a single script per poll so a settled page costs one round trip.
+     */
+    public void waitForPageToSettle() {
+        softUntil(probe(NETWORK_IDLE_CHECK + " && " + TRANSITIONS_IDLE_CHECK + " && " + DOM_QUIET_CHECK,
+            DEFAULT_QUIET_MILLIS), DEFAULT_SETTLE_TIMEOUT, "page settle");
+    }
+
+    /**
+     * Wait until the current URL contains the given fragment
+     */
+    public void waitForUrlContains(String fragment) {
+        until(d -> {
+            String url = d.getCurrentUrl();
+            return url != null && url.contains(fragment);
+        }, timeout, "URL containing '" + fragment + "'");
+    }
+
+    /**
+     * Wait until the current URL differs from the given one
+     * @return true if the URL changed within the timeout
+     */
+    public boolean waitForUrlChange(String previousUrl) {
+        return softUntil(d -> !Objects.equals(d.getCurrentUrl(), previousUrl), timeout, "URL change");
+    }
+
+    /**
+     * Wait until the text of the located element differs from the given one
+     * @return true if the text changed within the timeout
+     */
+    public boolean waitForTextChange(By locator, String previousText) {
+        return softUntil(d -> !Objects.equals(d.findElement(locator).getText(), previousText),
+            DEFAULT_SETTLE_TIMEOUT, "text change of " + locator);
+    }
+
+    /**
+     * Wait until the attribute of the element differs from the given one
+     * @return true if the attribute changed within the timeout
+     */
+    public boolean waitForAttributeChange(WebElement element, String attribute, String previousValue) {
+        return softUntil(d -> !Objects.equals(element.getAttribute(attribute), previousValue),
+            DEFAULT_SETTLE_TIMEOUT, attribute + " change");
+    }
+
+    private ExpectedCondition<Boolean> probe(String check, Object... args) {
+        return d -> Boolean.TRUE.equals(
+            ((JavascriptExecutor) d).executeScript(INSTALL_PROBES + "return " + check + ";", args));
+    }
+
+    /**
+     * Fixed pause for the rare case with no signal to wait on - reported as sleep time to the current step
+     */
+    public static void pause(long millis) {
+        long started = System.nanoTime();
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            StepTimer.recordSleep(System.nanoTime() - started);
+        }
+    }
+
+    private <T> T until(ExpectedCondition<T> condition, Duration limit, String description) {
+        long started = System.nanoTime();
+        try {
+            return new FluentWait<>(driver)
+                .withTimeout(limit)
+                .pollingEvery(POLL_INTERVAL)
+                .ignoring(JavascriptException.class)
+                .ignoring(StaleElementReferenceException.class)
+                .ignoring(NotFoundException.class)
+                .withMessage("waiting for " + description)
+                .until(condition);
+        } finally {
+            StepTimer.recordWait(System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * Settle-type waits never fail the step - if a signal does not arrive in time
+     * the page is assumed usable and the next explicit wait decides
+     */
+    private boolean softUntil(ExpectedCondition<Boolean> condition, Duration limit, String description) {
+        try {
+            until(condition, limit, description);
+            return true;
+        } catch (TimeoutException e) {
+            LOG.warn("Timed out after {}ms waiting for {}", limit.toMillis(), description);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ * Behaviour of the travel-policy replica. Mirrors the live wizard closely enough for the
+ * page objects: MUI class names, a transition on every state change, data loaded via fetch
+ * and controlled inputs that react to input/change events like React does.
+ * The markup carries no ids the live wizard lacks, so elements are found the way the page objects
+ * find them on the live site - by MUI class, structure and text.
+ */
+var HarelStub = (function () {
+    'use strict';
+
+    var STATE_KEY = 'harel-travel-wizard';
+    var MONTHS = ['ינואר', 'פברואר', 'מרץ', 'אפריל', 'מאי', 'יוני',
+        'יולי', 'אוגוסט', 'ספטמבר', 'אוקטובר', 'נובמבר', 'דצמבר'];
+    var DAY_LABELS = ['א', 'ב', 'ג', 'ד', 'ה', 'ו', 'ש'];
+    var TRANSITION_MS = 200;
+
+    function loadState() {
+        try {
+            return JSON.parse(sessionStorage.getItem(STATE_KEY)) || {};
+        } catch (e) {
+            return {};
+        }
+    }
+
+    function saveState(state) {
+        sessionStorage.setItem(STATE_KEY, JSON.stringify(state));
+    }
+
+    function el(tag, className, text) {
+        var node = document.createElement(tag);
+        if (className) {
+            node.className = className;
+        }
+        if (text !== undefined) {
+            node.textContent = text;
+        }
+        return node;
+    }
+
+    // The MUI button whose label contains the text
+    function button(text) {
+        var buttons = document.querySelectorAll('button.MuiButton-root');
+        for (var i = 0; i < buttons.length; i++) {
+            if (buttons[i].textContent.indexOf(text) >= 0) {
+                return buttons[i];
+            }
+        }
+        return null;
+    }
+
+    function api(path) {
+        return fetch('/travel-policy/api/' + path).then(function (response) {
+            if (!response.ok) {
+                throw new Error('HTTP ' + response.status);
+            }
+            return response.json();
+        });
+    }
+
+    function pad(n) {
+        return (n < 10 ? '0' : '') + n;
+    }
+
+    function today() {
+        var now = new Date();
+        return new Date(now.getFullYear(), now.getMonth(), now.getDate());
+    }
+
+    function formatDisplay(date) {
+        return pad(date.getDate()) + '/' + pad(date.getMonth() + 1) + '/' + date.getFullYear();
+    }
+
+    function formatIso(date) {
+        return date.getFullYear() + '-' + pad(date.getMonth() + 1) + '-' + pad(date.getDate());
+    }
+
+    function parseDisplay(value) {
+        var match = /^(\d{2})\/(\d{2})\/(\d{4})$/.exec(value || '');
+        if (!match) {
+            return null;
+        }
+        var date = new Date(+match[3], +match[2] - 1, +match[1]);
+        return date.getDate() === +match[1] ? date : null;
+    }
+
+    function parseIso(value) {
+        var match = /^(\d{4})-(\d{2})-(\d{2})$/.exec(value || '');
+        return match ? new Date(+match[1], +match[2] - 1, +match[3]) : null;
+    }
+
+    /* ---------- Landing page: first time purchase + continent grid ---------- */
+
+    function landing() {
+        var state = {};
+        var firstTimePurchase = button('לרכישה בפעם הראשונה');
+        var intro = firstTimePurchase.parentNode;
+        var destinations = document.querySelector('.MuiCollapse-root');
+        var grid = destinations.querySelector('.MuiGrid-container');
+        var continueButton = button('הלאה לבחירת תאריכי הנסיעה');
+
+        firstTimePurchase.addEventListener('click', function () {
+            intro.style.display = 'none';
+            destinations.classList.remove('MuiCollapse-hidden');
+            destinations.classList.add('MuiCollapse-entering');
+            api('continents').then(function (continents) {
+                continents.forEach(function (continent) {
+                    var item = el('div', 'MuiGrid-root MuiGrid-item MuiGrid-grid-xs-6');
+                    var card = el('div', 'MuiPaper-root MuiCard-root');
+                    card.setAttribute('role', 'button');
+                    card.appendChild(el('span', 'MuiTypography-root MuiTypography-body1', continent.name));
+                    item.appendChild(card);
+                    item.addEventListener('click', function () {
+                        Array.prototype.forEach.call(grid.querySelectorAll('.MuiCard-root'), function (c) {
+                            c.classList.remove('Mui-selected');
+                        });
+                        card.classList.add('Mui-selected');
+                        state.continent = continent.id;
+                        state.continentName = continent.name;
+                        continueButton.style.display = '';
+                    });
+                    grid.appendChild(item);
+                });
+                setTimeout(function () {
+                    destinations.classList.remove('MuiCollapse-entering');
+                    destinations.classList.add('MuiCollapse-entered');
+                }, 300);
+            });
+        });
+
+        continueButton.addEventListener('click', function () {
+            saveState({continent: state.continent, continentName: state.continentName});
+            window.location.href = '/travel-policy/wizard/date';
+        });
+    }
+
+    /* ---------- Dates page: MUI pickers v3 style date picker ---------- */
+
+    function dates() {
+        var state = loadState();
+        var startInput = document.getElementById('travel_start_date');
+        var endInput = document.getElementById('travel_end_date');
+        var summary = document.querySelector('.dates-form + .MuiBox-root');
+        var continueButton = button('הלאה לפרטי הנוסעים');
+        var quoteRequest = 0;
+
+        if (state.continentName) {
+            document.querySelector('main > .MuiTypography-body1').textContent = 'יעד: ' + state.continentName;
+        }
+
+        function setDate(field, date) {
+            state[field] = date ? formatIso(date) : null;
+            saveState(state);
+            (field === 'start' ? startInput : endInput).value = date ? formatDisplay(date) : '';
+            refreshSummary();
+        }
+
+        function refreshSummary() {
+            var start = parseIso(state.start);
+            var end = parseIso(state.end);
+            summary.innerHTML = '';
+            continueButton.disabled = true;
+            continueButton.classList.add('Mui-disabled');
+            if (!start || !end) {
+                return;
+            }
+            var request = ++quoteRequest;
+            api('quote?start=' + state.start + '&end=' + state.end).then(function (quote) {
+                if (request !== quoteRequest) {
+                    return;
+                }
+                summary.appendChild(el('span', 'MuiTypography-root MuiTypography-body1', 'סה"כ ימי ביטוח:'));
+                summary.appendChild(el('span', 'MuiTypography-root MuiTypography-subtitle1', quote.days + ' ימים'));
+                summary.appendChild(el('span', 'MuiTypography-root MuiTypography-body1',
+                    formatDisplay(start) + ' - ' + formatDisplay(end)));
+                continueButton.disabled = false;
+                continueButton.classList.remove('Mui-disabled');
+            }, function () {
+                summary.appendChild(el('span', 'MuiTypography-root MuiTypography-colorError',
+                    'תאריך החזרה חייב להיות אחרי תאריך היציאה'));
+            });
+        }
+
+        // Controlled inputs: typing (or a dispatched input/change event) updates the wizard state
+        function bindTyping(input, field) {
+            function onChange() {
+                var date = parseDisplay(input.value);
+                if (date) {
+                    state[field] = formatIso(date);
+                    saveState(state);
+                    refreshSummary();
+                }
+            }
+            input.addEventListener('input', onChange);
+            input.addEventListener('change', onChange);
+        }
+
+        bindTyping(startInput, 'start');
+        bindTyping(endInput, 'end');
+
+        startInput.addEventListener('click', function () {
+            openPicker(parseIso(state.start), today(), function (date) {
+                setDate('start', date);
+            });
+        });
+        endInput.addEventListener('click', function () {
+            openPicker(parseIso(state.end), parseIso(state.start) || today(), function (date) {
+                setDate('end', date);
+            });
+        });
+
+        continueButton.addEventListener('click', function () {
+            if (!continueButton.disabled) {
+                window.location.href = '/travel-policy/wizard/passengers';
+            }
+        });
+
+        if (state.start) {
+            startInput.value = formatDisplay(parseIso(state.start));
+        }
+        if (state.end) {
+            endInput.value = formatDisplay(parseIso(state.end));
+        }
+        refreshSummary();
+    }
+
+    function openPicker(selected, minDate, onSelect) {
+        var existing = document.querySelector('.MuiPopover-root');
+        if (existing) {
+            existing.parentNode.removeChild(existing);
+        }
+        var shown = selected || today();
+        var month = new Date(shown.getFullYear(), shown.getMonth(), 1);
+
+        var popover = el('div', 'MuiPopover-root opening');
+        popover.setAttribute('role', 'presentation');
+        var backdrop = el('div', 'MuiBackdrop-root MuiBackdrop-invisible');
+        var paper = el('div', 'MuiPaper-root MuiPopover-paper');
+        var container = el('div', 'MuiPickersBasePicker-container');
+        var view = el('div', 'MuiPickersBasePicker-pickerView');
+
+        var header = el('div', 'MuiPickersCalendarHeader-switchHeader');
+        var previous = el('button', 'MuiButtonBase-root MuiIconButton-root MuiPickersCalendarHeader-iconButton', '‹');
+        previous.setAttribute('aria-label', 'previous month');
+        var titleContainer = el('div', 'MuiPickersSlideTransition-transitionContainer MuiPickersCalendarHeader-transitionContainer');
+        var title = el('p', 'MuiTypography-root MuiTypography-body1 MuiTypography-alignCenter');
+        titleContainer.appendChild(title);
+        var next = el('button', 'MuiButtonBase-root MuiIconButton-root MuiPickersCalendarHeader-iconButton', '›');
+        next.setAttribute('aria-label', 'next month');
+        header.appendChild(previous);
+        header.appendChild(titleContainer);
+        header.appendChild(next);
+
+        var daysHeader = el('div', 'MuiPickersCalendarHeader-daysHeader');
+        DAY_LABELS.forEach(function (label) {
+            daysHeader.appendChild(el('span', 'MuiTypography-root MuiPickersCalendarHeader-dayLabel MuiTypography-caption', label));
+        });
+
+        var calendar = el('div', 'MuiPickersSlideTransition-transitionContainer MuiPickersCalendar-transitionContainer');
+
+        function render() {
+            title.textContent = MONTHS[month.getMonth()] + ' ' + month.getFullYear();
+            calendar.innerHTML = '';
+            var weeks = el('div');
+            var cursor = new Date(month.getFullYear(), month.getMonth(), 1 - month.getDay());
+            var now = today();
+            for (var w = 0; w < 6; w++) {
+                var week = el('div', 'MuiPickersCalendar-week');
+                for (var d = 0; d < 7; d++) {
+                    week.appendChild(renderDay(new Date(cursor), now));
+                    cursor.setDate(cursor.getDate() + 1);
+                }
+                weeks.appendChild(week);
+            }
+            calendar.appendChild(weeks);
+        }
+
+        function renderDay(date, now) {
+            var cell = el('div');
+            cell.setAttribute('role', 'presentation');
+            var classes = 'MuiButtonBase-root MuiIconButton-root MuiPickersDay-day';
+            var outside = date.getMonth() !== month.getMonth();
+            var disabled = date < minDate;
+            if (outside) {
+                classes += ' MuiPickersDay-hidden';
+            }
+            if (disabled) {
+                classes += ' MuiPickersDay-dayDisabled Mui-disabled';
+            }
+            if (selected && date.getTime() === selected.getTime()) {
+                classes += ' MuiPickersDay-daySelected';
+            }
+            if (date.getTime() === now.getTime()) {
+                classes += ' MuiPickersDay-current';
+            }
+            var button = el('button', classes);
+            button.setAttribute('tabindex', '-1');
+            button.type = 'button';
+            if (disabled || outside) {
+                button.disabled = true;
+            }
+            var label = el('span', 'MuiIconButton-label');
+            label.appendChild(el('p', 'MuiTypography-root MuiTypography-body2 MuiTypography-colorInherit', String(date.getDate())));
+            button.appendChild(label);
+            button.addEventListener('click', function () {
+                onSelect(date);
+                close();
+            });
+            cell.appendChild(button);
+            return cell;
+        }
+
+        function slide(delta) {
+            month = new Date(month.getFullYear(), month.getMonth() + delta, 1);
+            calendar.classList.add('MuiPickersSlideTransition-slideEnterActive');
+            titleContainer.classList.add('MuiPickersSlideTransition-slideEnterActive');
+            render();
+            setTimeout(function () {
+                calendar.classList.remove('MuiPickersSlideTransition-slideEnterActive');
+                titleContainer.classList.remove('MuiPickersSlideTransition-slideEnterActive');
+            }, TRANSITION_MS);
+        }
+
+        function close() {
+            popover.classList.add('closing');
+            setTimeout(function () {
+                if (popover.parentNode) {
+                    popover.parentNode.removeChild(popover);
+                }
+            }, TRANSITION_MS);
+        }
+
+        previous.addEventListener('click', function () { slide(-1); });
+        next.addEventListener('click', function () { slide(1); });
+        backdrop.addEventListener('click', close);
+
+        view.appendChild(header);
+        view.appendChild(daysHeader);
+        view.appendChild(calendar);
+        container.appendChild(view);
+        paper.appendChild(container);
+        popover.appendChild(backdrop);
+        popover.appendChild(paper);
+        document.body.appendChild(popover);
+        render();
+        setTimeout(function () { popover.classList.remove('opening'); }, 20);
+    }
+
+    /* ---------- Passengers page ---------- */
+
+    function passengers() {
+        var state = loadState();
+        var start = parseIso(state.start);
+        var end = parseIso(state.end);
+        if (start && end) {
+            document.querySelector('.passengers-details .MuiTypography-body1').textContent =
+                (state.continentName || '') + ' | ' + formatDisplay(start) + ' - ' + formatDisplay(end);
+        }
+    }
+
+    return {
+        landing: landing,
+        dates: dates,
+        passengers: passengers
+    };
+})();